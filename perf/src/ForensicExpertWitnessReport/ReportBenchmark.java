@@ -0,0 +1,360 @@
+/*
+ * Class ReportBenchmark.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to measure how long the forensic expert witness
+ * report takes to generate for a fixed amount of synthetic tagged files, how much
+ * heap the report retains and how large the report is, and to compare those
+ * figures with a stored baseline. Run by the perf target of build.xml, once per
+ * amount of files in its own JVM under a fixed maximum heap, so that the figures
+ * of one amount do not affect another and a report which outgrows the heap fails.
+ *
+ * The retained heap is measured after a forced garbage collection once every
+ * section has been merged, just before the report is written, so it is the live
+ * set of the report rather than how far the collector let the heap grow. It and
+ * the size of the report do not depend on the machine, and are compared with the
+ * baseline committed with the project. Times depend on the machine, so they are
+ * only compared with a baseline kept on the machine running the suite.
+ *
+ * The synthetic files are generated from a fixed seed and are sorted, built into
+ * sections of four tag names and merged after the evidence heading of Template
+ * One as a report would be, without needing an Autopsy case. With the system
+ * property perf.workers above 0, the sections are built by that many SectionWorker
+ * processes on localhost rather than in the JVM of the benchmark, and the figures
+ * are stored under their own keys. The time of the workers is neither stored nor
+ * compared on a machine without a processor for each worker and the benchmark.
+ *
+ * With the system property perf.cache set to true, the benchmark instead measures
+ * whether a FragmentCache pays for itself: after one report to warm up the JVM, it
+ * times a report without a cache, a report into an empty cache and a report of the
+ * same files from the filled cache. These are times, so they are only compared with
+ * the baseline of the machine running the suite.
+ *
+ * Run with "startup" in place of the amount of files, the benchmark measures what
+ * the module costs Autopsy when the report wizard is opened: creating the
+ * configuration panel, as Autopsy does for every report module even if another one
+ * is chosen, and then opening Template One, as the panel does when first shown.
+ * Both are measured in a fresh JVM, so that loading the classes is counted.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+
+class ReportBenchmark {
+
+    // Declare Instance Variables
+    private static final int SECTIONS = 4;
+    private static final String HEADING = "Analysis Evidence";
+    private static final String[] METRICS = {"wallMillis", "retainedHeapBytes", "outputBytes"};
+    private static final String[] STARTUP_METRICS = {"panelMillis", "templateMillis"};
+    private static final String[] CACHE_METRICS = {"uncachedMillis", "coldMillis", "warmMillis"};
+    private static final long CACHE_CAPACITY = 256L * 1024L * 1024L;
+
+    /**
+     * Main Method
+     * Main and First Mutator Method.
+     *
+     * Arguments are the amount of files or "startup", the template to report into, the
+     * baseline properties file, the baseline properties file of this machine, which
+     * holds the times, the percentage by which a figure may exceed its baseline, the
+     * directory to write the report to and optionally "update", to replace the baselines.
+     * Exits with status 1 if any figure has regressed past its baseline.
+     *
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        File template = new File(args[1]);
+        File baselineFile = new File(args[2]);
+        File machineBaselineFile = new File(args[3]);
+        double tolerance = Double.parseDouble(args[4]);
+        File outputDirectory = new File(args[5]);
+        boolean update = args.length > 6 && "update".equals(args[6]);
+        outputDirectory.mkdirs();
+        String run;
+        String[] metrics;
+        long[] measured;
+        boolean timed = true;
+        if ("startup".equals(args[0])) {
+            run = "startup";
+            metrics = STARTUP_METRICS;
+            measured = startup(template);
+        } else if (Boolean.getBoolean("perf.cache")) {
+            int items = Integer.parseInt(args[0]);
+            run = items + ".cache";
+            metrics = CACHE_METRICS;
+            measured = cache(items, template, new File(outputDirectory, "report-" + run + ".docx"), new File(outputDirectory, "cache-" + run));
+        } else {
+            int items = Integer.parseInt(args[0]);
+            int workers = Integer.getInteger("perf.workers", 0);
+            run = workers > 0 ? items + ".workers" + workers : Integer.toString(items);
+
+            // The workers only run alongside the benchmark given a processor each, so their times are not kept on a machine with fewer
+            timed = Runtime.getRuntime().availableProcessors() > workers;
+            metrics = METRICS;
+            File output = new File(outputDirectory, "report-" + run + ".docx");
+
+            // Generate the report, measuring the wall time and the heap retained by the report
+            long start = System.nanoTime();
+            long retainedHeapBytes = generate(items, template, output, workers, null);
+            long wallMillis = (System.nanoTime() - start) / 1000000;
+            measured = new long[] {wallMillis, retainedHeapBytes, output.length()};
+        }
+
+        // Compare the figures with their baselines, the times with the baseline of this machine, storing them if there is no baseline yet
+        Properties baseline = load(baselineFile);
+        Properties machineBaseline = load(machineBaselineFile);
+        boolean regressed = false;
+        boolean store = update;
+        boolean storeMachine = update;
+        for (int i=0; i<metrics.length; i++) {
+            String key = run + "." + metrics[i];
+            boolean machineLocal = metrics[i].endsWith("Millis");
+            if (machineLocal && !timed) {
+                System.out.println(key + " = " + measured[i] + " (not compared, only " + Runtime.getRuntime().availableProcessors() + " processors on this machine)");
+                continue;
+            }
+            Properties figures = machineLocal ? machineBaseline : baseline;
+            String stored = figures.getProperty(key);
+            if (stored == null || update) {
+                figures.setProperty(key, Long.toString(measured[i]));
+                if (machineLocal) {
+                    storeMachine = true;
+                } else {
+                    store = true;
+                }
+                System.out.println(key + " = " + measured[i] + " (stored as baseline" + (machineLocal ? " of this machine)" : ")"));
+                continue;
+            }
+            long limit = (long) (Long.parseLong(stored) * (1 + tolerance / 100));
+            if (measured[i] > limit) {
+                regressed = true;
+                System.out.println(key + " = " + measured[i] + " REGRESSED, baseline " + stored + ", limit " + limit);
+            } else {
+                System.out.println(key + " = " + measured[i] + " (baseline " + stored + ")");
+            }
+        }
+        if (store) {
+            store(baseline, baselineFile, "Forensic Report performance baseline, see the perf target of build.xml");
+        }
+        if (storeMachine) {
+            store(machineBaseline, machineBaselineFile, "Forensic Report performance baseline of the times on this machine, see the perf target of build.xml");
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    private static Properties load(File file) throws IOException {
+        Properties figures = new Properties();
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                figures.load(in);
+            }
+        }
+        return figures;
+    }
+
+    private static void store(Properties figures, File file, String comment) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(file)) {
+            figures.store(out, comment);
+        }
+    }
+
+    /**
+     * Startup Method
+     * Second Mutator Method.
+     *
+     * Creates the configuration panel as Autopsy does when opening the report wizard,
+     * then opens the template as the panel does when first shown. The tag names and
+     * the job service, which need an open case, are not measured.
+     *
+     * @param template
+     * @return the milliseconds taken to create the panel and to open the template
+     * @throws IOException
+     */
+    private static long[] startup(File template) throws IOException {
+        long start = System.nanoTime();
+        ForensicReport.getDefault().getConfigurationPanel();
+        long panelMillis = (System.nanoTime() - start) / 1000000;
+        start = System.nanoTime();
+        try (InputStream in = new FileInputStream(template)) {
+            new ForensicReportDocument(in);
+        }
+        long templateMillis = (System.nanoTime() - start) / 1000000;
+        return new long[] {panelMillis, templateMillis};
+    }
+
+    /**
+     * Generate Method
+     * Third Mutator Method.
+     *
+     * Reports the synthetic files into a copy of the template, in the same steps as ForensicReportRun.
+     *
+     * @param items
+     * @param template
+     * @param output
+     * @param workers the amount of worker processes building the sections, or 0 to build them in this JVM
+     * @param cache the cache to keep the tables in and copy them from, or null to build every table
+     * @return the heap retained once every section is merged, after a forced garbage collection
+     * @throws IOException
+     */
+    private static long generate(int items, File template, File output, int workers, FragmentCache cache) throws IOException {
+        ForensicReportSettings settings = new ForensicReportSettings();
+        Random random = new Random(items);
+        ForensicReportDocument document;
+        try (InputStream in = new FileInputStream(template)) {
+            document = new ForensicReportDocument(in);
+        }
+        XWPFParagraph headingParagraph = null;
+        for (XWPFParagraph paragraph : document.getParagraphs()) {
+            if (paragraph.getText() != null && paragraph.getText().contains(HEADING)) {
+                headingParagraph = paragraph;
+            }
+        }
+        if (headingParagraph == null) {
+            throw new IOException("Unable to find evidence heading \"" + HEADING + "\" in " + template);
+        }
+        ForensicReportSection.addStyles(document, "2E74B5", "FFFFFF");
+        List<EvidenceSorter> sorters = new ArrayList<EvidenceSorter>();
+        try (ForensicReportDocument.Splice splice = document.openSplice(headingParagraph)) {
+            for (int s=0; s<SECTIONS; s++) {
+                int sectionItems = items / SECTIONS + (s < items % SECTIONS ? 1 : 0);
+                EvidenceSorter sorter = new EvidenceSorter(settings.getEvidenceOrder(), settings.isGroupByParent(), settings.getSortMemoryThreshold(),
+                        Math.min(sectionItems, settings.getSortMemoryThreshold()), null);
+                sorters.add(sorter);
+                for (int i=0; i<sectionItems; i++) {
+                    long created = 1500000000L + random.nextInt(100000000);
+                    sorter.add(s * items + i, String.format("IMG_%06d.jpg", i),
+                            String.format("/img_0/vol_2/Users/examiner/Pictures/dir%03d/IMG_%06d.jpg", random.nextInt(200), i),
+                            String.format("%016x%016x", random.nextLong(), random.nextLong()), i % 3 == 0 ? "Recovered from the camera roll" : "",
+                            null, created, created + random.nextInt(1000000), created + random.nextInt(10000000));
+                }
+            }
+            if (workers > 0) {
+                render(sorters, settings.getFields(), workers, splice);
+            } else {
+                for (EvidenceSorter sorter : sorters) {
+                    ForensicReportSection section = new ForensicReportSection(settings.getFields(), null, null);
+                    if (cache != null) {
+                        section.setCache(cache, "benchmark", ForensicReportSection.styleSet(template.getPath(), "2E74B5", "FFFFFF"));
+                    }
+                    EvidenceRecord record = new EvidenceRecord();
+                    try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+                        while (sorted.next(record)) {
+                            section.buildTables(record, null);
+                        }
+                    }
+                    splice.add(section);
+                }
+            }
+        } finally {
+            for (EvidenceSorter sorter : sorters) {
+                sorter.discard();
+            }
+        }
+        System.gc();
+        System.gc();
+        long retainedHeapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        try (OutputStream out = new FileOutputStream(output)) {
+            document.write(out);
+        }
+        return retainedHeapBytes;
+    }
+
+    /**
+     * Cache Method
+     * Fourth Mutator Method.
+     *
+     * Generates the report once to warm up the JVM, then times it without a cache,
+     * into an emptied cache in the given directory and again from that cache.
+     *
+     * @param items
+     * @param template
+     * @param output
+     * @param cacheDirectory
+     * @return the milliseconds taken without a cache, with a cold cache and with a warm cache
+     * @throws IOException
+     */
+    private static long[] cache(int items, File template, File output, File cacheDirectory) throws IOException {
+        File[] stale = cacheDirectory.listFiles();
+        if (stale != null) {
+            for (File file : stale) {
+                if (!file.delete()) {
+                    throw new IOException("Unable to empty the cache directory " + cacheDirectory);
+                }
+            }
+        }
+        generate(items, template, output, 0, null);
+        long start = System.nanoTime();
+        generate(items, template, output, 0, null);
+        long uncachedMillis = (System.nanoTime() - start) / 1000000;
+        start = System.nanoTime();
+        generate(items, template, output, 0, FragmentCache.open(cacheDirectory, CACHE_CAPACITY));
+        long coldMillis = (System.nanoTime() - start) / 1000000;
+        start = System.nanoTime();
+        generate(items, template, output, 0, FragmentCache.open(cacheDirectory, CACHE_CAPACITY));
+        long warmMillis = (System.nanoTime() - start) / 1000000;
+        return new long[] {uncachedMillis, coldMillis, warmMillis};
+    }
+
+    /**
+     * Render Method
+     * Fifth Mutator Method.
+     *
+     * Builds the section of every sorter in a SectionWorkerPool of the given amount
+     * of workers on localhost, one thread per worker, and merges every section in
+     * order as soon as it is built, as ForensicReportRun does.
+     *
+     * @param sorters
+     * @param fields
+     * @param workers
+     * @param splice
+     * @throws IOException
+     */
+    private static void render(List<EvidenceSorter> sorters, final Set<EvidenceField> fields, int workers, ForensicReportDocument.Splice splice) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (final SectionWorkerPool pool = SectionWorkerPool.start(workers)) {
+            List<Future<ForensicReportSection>> futures = new ArrayList<Future<ForensicReportSection>>();
+            for (final EvidenceSorter sorter : sorters) {
+                futures.add(executor.submit(new Callable<ForensicReportSection>() {
+                    @Override
+                    public ForensicReportSection call() throws IOException, InterruptedException {
+                        return pool.render(sorter, fields, null, null, null);
+                    }
+                }));
+            }
+            for (int i=0; i<futures.size(); i++) {
+                splice.add(futures.get(i).get());
+                futures.set(i, null);
+            }
+        } catch (ExecutionException ex) {
+            throw new IOException("Error building a section in a worker", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building the sections", ex);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
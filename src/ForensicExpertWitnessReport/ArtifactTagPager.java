@@ -0,0 +1,170 @@
+/*
+ * Class ArtifactTagPager.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to read the blackboard artifacts which have been
+ * tagged under a tag name, such as keyword hits, web history and messages, a
+ * fixed size page at a time. Every page is resolved to its artifacts, their
+ * attributes and their source files in one query each, rather than one file at
+ * a time, so that tag names with hundreds of thousands of tagged artifacts are
+ * added into the forensic expert witness report without holding them all.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.sleuthkit.datamodel.AbstractFile;
+import org.sleuthkit.datamodel.BlackboardArtifact;
+import org.sleuthkit.datamodel.BlackboardAttribute;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class ArtifactTagPager {
+
+    // Declare Instance Variables
+    static final int PAGE_SIZE = 1000;
+    private final SleuthkitCase skCase;
+    private final long tagNameId;
+    private final int pageSize;
+    private long lastTagId = -1;
+    private boolean done = false;
+
+    /**
+     * Constructor for objects of class ArtifactTagPager
+     * First and only Constructor.
+     *
+     * @param skCase
+     * @param tagName
+     * @param pageSize the amount of tagged artifacts read at a time
+     */
+    ArtifactTagPager(SleuthkitCase skCase, TagName tagName, int pageSize) {
+        this.skCase = skCase;
+        this.tagNameId = tagName.getId();
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * NextPage Method
+     * First Mutator Method.
+     *
+     * Reads the next page of tagged artifacts, in the order they were tagged.
+     *
+     * @return the tagged artifacts of the page, empty once every tagged artifact has been read
+     * @throws TskCoreException
+     */
+    List<Entry> nextPage() throws TskCoreException {
+        if (done) {
+            return Collections.emptyList();
+        }
+
+        // Read the next page of tags, continuing after the last tag read
+        List<Entry> entries = new ArrayList<Entry>();
+        Map<Long, List<Entry>> entriesByArtifact = new HashMap<Long, List<Entry>>();
+        try (SleuthkitCase.CaseDbQuery query = skCase.executeQuery("SELECT tag_id, artifact_id, comment FROM blackboard_artifact_tags"
+                + " WHERE tag_name_id = " + tagNameId + " AND tag_id > " + lastTagId + " ORDER BY tag_id LIMIT " + pageSize)) {
+            ResultSet resultSet = query.getResultSet();
+            while (resultSet.next()) {
+                Entry entry = new Entry(resultSet.getLong("artifact_id"), resultSet.getString("comment"));
+                lastTagId = resultSet.getLong("tag_id");
+                entries.add(entry);
+                List<Entry> sameArtifact = entriesByArtifact.get(entry.artifactId);
+                if (sameArtifact == null) {
+                    sameArtifact = new ArrayList<Entry>(1);
+                    entriesByArtifact.put(entry.artifactId, sameArtifact);
+                }
+                sameArtifact.add(entry);
+            }
+        } catch (SQLException ex) {
+            throw new TskCoreException("Error reading tagged artifacts", ex);
+        }
+        if (entries.size() < pageSize) {
+            done = true;
+        }
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        // Resolve the artifacts of the page
+        String artifactIds = joinIds(entriesByArtifact.keySet());
+        Map<Long, List<Entry>> entriesBySource = new HashMap<Long, List<Entry>>();
+        for (BlackboardArtifact artifact : skCase.getMatchingArtifacts("WHERE artifact_id IN (" + artifactIds + ")")) {
+            List<Entry> sameArtifact = entriesByArtifact.get(artifact.getArtifactID());
+            if (sameArtifact == null) {
+                continue;
+            }
+            for (Entry entry : sameArtifact) {
+                entry.artifact = artifact;
+            }
+            List<Entry> sameSource = entriesBySource.get(artifact.getObjectID());
+            if (sameSource == null) {
+                sameSource = new ArrayList<Entry>();
+                entriesBySource.put(artifact.getObjectID(), sameSource);
+            }
+            sameSource.addAll(sameArtifact);
+        }
+
+        // Resolve the attributes of the artifacts of the page
+        for (BlackboardAttribute attribute : skCase.getMatchingAttributes("WHERE artifact_id IN (" + artifactIds + ")")) {
+            List<Entry> sameArtifact = entriesByArtifact.get(attribute.getArtifactID());
+            if (sameArtifact != null) {
+                for (Entry entry : sameArtifact) {
+                    entry.attributes.add(attribute);
+                }
+            }
+        }
+
+        // Resolve the source files of the artifacts of the page
+        if (!entriesBySource.isEmpty()) {
+            for (AbstractFile file : skCase.findAllFilesWhere("obj_id IN (" + joinIds(entriesBySource.keySet()) + ")")) {
+                List<Entry> sameSource = entriesBySource.get(file.getId());
+                if (sameSource != null) {
+                    for (Entry entry : sameSource) {
+                        entry.sourceName = file.getName();
+                        entry.sourcePath = file.getParentPath() == null ? file.getName() : file.getParentPath() + file.getName();
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    static String joinIds(Iterable<Long> ids) {
+        StringBuilder joined = new StringBuilder();
+        for (Long id : ids) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(id);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Class Entry of package ForensicExpertWitnessReport
+     *
+     * One tagged artifact, together with its attributes and the file it was found in.
+     *
+     */
+    static class Entry {
+
+        final long artifactId;
+        final String comment;
+        BlackboardArtifact artifact;
+        final List<BlackboardAttribute> attributes = new ArrayList<BlackboardAttribute>();
+        String sourceName;
+        String sourcePath;
+
+        Entry(long artifactId, String comment) {
+            this.artifactId = artifactId;
+            this.comment = comment == null ? null : comment.trim();
+        }
+    }
+}
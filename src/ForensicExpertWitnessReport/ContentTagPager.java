@@ -0,0 +1,132 @@
+/*
+ * Class ContentTagPager.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to read the files which have been tagged under
+ * a tag name a fixed size page at a time, rather than as one list holding every
+ * tag of the tag name. Every page is resolved to its tagged files in one query,
+ * so that the memory used to read a tag name stays the same however many files
+ * are tagged under it.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.sleuthkit.datamodel.AbstractFile;
+import org.sleuthkit.datamodel.Content;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class ContentTagPager {
+
+    // Declare Instance Variables
+    static final int PAGE_SIZE = 1000;
+    private final SleuthkitCase skCase;
+    private final long tagNameId;
+    private final int pageSize;
+    private long lastTagId = -1;
+    private boolean done = false;
+
+    /**
+     * Constructor for objects of class ContentTagPager
+     * First and only Constructor.
+     *
+     * @param skCase
+     * @param tagName
+     * @param pageSize the amount of tagged files read at a time
+     */
+    ContentTagPager(SleuthkitCase skCase, TagName tagName, int pageSize) {
+        this.skCase = skCase;
+        this.tagNameId = tagName.getId();
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * NextPage Method
+     * First Mutator Method.
+     *
+     * Reads the next page of tagged files, in the order they were tagged.
+     *
+     * @return the tagged files of the page, empty once every tagged file has been read
+     * @throws TskCoreException
+     */
+    List<Entry> nextPage() throws TskCoreException {
+        if (done) {
+            return Collections.emptyList();
+        }
+
+        // Read the next page of tags, continuing after the last tag read
+        List<Entry> entries = new ArrayList<Entry>();
+        Map<Long, List<Entry>> entriesByObject = new HashMap<Long, List<Entry>>();
+        try (SleuthkitCase.CaseDbQuery query = skCase.executeQuery("SELECT tag_id, obj_id, comment FROM content_tags"
+                + " WHERE tag_name_id = " + tagNameId + " AND tag_id > " + lastTagId + " ORDER BY tag_id LIMIT " + pageSize)) {
+            ResultSet resultSet = query.getResultSet();
+            while (resultSet.next()) {
+                Entry entry = new Entry(resultSet.getLong("obj_id"), resultSet.getString("comment"));
+                lastTagId = resultSet.getLong("tag_id");
+                entries.add(entry);
+                List<Entry> sameObject = entriesByObject.get(entry.objectId);
+                if (sameObject == null) {
+                    sameObject = new ArrayList<Entry>(1);
+                    entriesByObject.put(entry.objectId, sameObject);
+                }
+                sameObject.add(entry);
+            }
+        } catch (SQLException ex) {
+            throw new TskCoreException("Error reading tagged files", ex);
+        }
+        if (entries.size() < pageSize) {
+            done = true;
+        }
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        // Resolve the tagged files of the page
+        for (AbstractFile file : skCase.findAllFilesWhere("obj_id IN (" + ArtifactTagPager.joinIds(entriesByObject.keySet()) + ")")) {
+            List<Entry> sameObject = entriesByObject.remove(file.getId());
+            if (sameObject != null) {
+                for (Entry entry : sameObject) {
+                    entry.file = file;
+                    entry.name = file.getName();
+                }
+            }
+        }
+
+        // Name any tagged content which is not a file, such as unallocated space, so it can be reported as failed
+        for (Map.Entry<Long, List<Entry>> notFile : entriesByObject.entrySet()) {
+            Content content = skCase.getContentById(notFile.getKey());
+            for (Entry entry : notFile.getValue()) {
+                entry.name = content == null ? "object " + notFile.getKey() : content.getName();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Class Entry of package ForensicExpertWitnessReport
+     *
+     * One tagged file, or other tagged content if file is null.
+     *
+     */
+    static class Entry {
+
+        final long objectId;
+        final String comment;
+        AbstractFile file;
+        String name;
+
+        Entry(long objectId, String comment) {
+            this.objectId = objectId;
+            this.comment = comment == null ? null : comment.trim();
+        }
+    }
+}
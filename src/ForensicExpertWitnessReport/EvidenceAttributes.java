@@ -0,0 +1,323 @@
+/*
+ * Class EvidenceAttributes.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to hold the extended fields of every tagged file
+ * which is to be reported, such as its size, MIME type, EXIF camera and GPS
+ * location and the hash sets it was found in. The EXIF and hash set fields come
+ * from blackboard artifacts, which are retrieved for a batch of tagged files at
+ * a time, by their object ids, rather than one file at a time or for every file
+ * of the case, so that the time and memory taken grow with the files reported.
+ * Fields are kept in columns indexed through a LongIntHashMap of content object
+ * ids, and are joined with the tables of the tagged files when they are built.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.sleuthkit.datamodel.BlackboardArtifact;
+import org.sleuthkit.datamodel.BlackboardAttribute;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class EvidenceAttributes {
+
+    // Declare Instance Variables
+    static final int BATCH_SIZE = 1000;
+    private final LongIntHashMap slots;
+    private int size = 0;
+    private long[] objectIds;
+    private long[] fileSizes;
+    private String[] mimeTypes;
+    private String[] cameraMakes;
+    private String[] cameraModels;
+    private double[] latitudes;
+    private double[] longitudes;
+    private String[] hashSets;
+
+    /**
+     * Constructor for objects of class EvidenceAttributes
+     * First and only Constructor.
+     *
+     * @param expectedSize
+     */
+    EvidenceAttributes(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        slots = new LongIntHashMap(capacity);
+        objectIds = new long[capacity];
+        fileSizes = new long[capacity];
+        mimeTypes = new String[capacity];
+        cameraMakes = new String[capacity];
+        cameraModels = new String[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        hashSets = new String[capacity];
+    }
+
+    /**
+     * Add Method
+     * First Mutator Method.
+     *
+     * Adds a tagged file, with the fields which are held by the file itself.
+     * Files which have already been added are left unchanged.
+     *
+     * @param objectId
+     * @param fileSize
+     * @param mimeType
+     */
+    void add(long objectId, long fileSize, String mimeType) {
+        if (slots.get(objectId) >= 0) {
+            return;
+        }
+        if (size == fileSizes.length) {
+            grow();
+        }
+        slots.put(objectId, size);
+        objectIds[size] = objectId;
+        fileSizes[size] = fileSize;
+        mimeTypes[size] = mimeType;
+        latitudes[size] = Double.NaN;
+        longitudes[size] = Double.NaN;
+        size++;
+    }
+
+    /**
+     * Prefetch Method
+     * Second Mutator Method.
+     *
+     * Retrieves the EXIF and hash set fields of every added file, reading the
+     * artifacts of each artifact type and their attributes for a batch of files at
+     * a time.
+     *
+     * @param skCase
+     * @param exif whether to retrieve the EXIF camera and GPS location
+     * @param hashSetHits whether to retrieve the hash sets the files were found in
+     * @throws TskCoreException
+     */
+    void prefetch(SleuthkitCase skCase, boolean exif, boolean hashSetHits) throws TskCoreException {
+        List<Long> batch = new ArrayList<Long>(BATCH_SIZE);
+        for (int start=0; start<size; start+=BATCH_SIZE) {
+            batch.clear();
+            for (int slot=start; slot<Math.min(size, start + BATCH_SIZE); slot++) {
+                batch.add(objectIds[slot]);
+            }
+            String batchIds = ArtifactTagPager.joinIds(batch);
+            if (exif) {
+                prefetchExif(skCase, batchIds);
+            }
+            if (hashSetHits) {
+                prefetchHashSets(skCase, batchIds);
+            }
+        }
+    }
+
+    /**
+     * PrefetchExif Method
+     * Fourth Mutator Method.
+     *
+     * Retrieves the EXIF camera and GPS location of the given files.
+     *
+     * @param skCase
+     * @param batchIds the object ids of the files, joined by commas
+     * @throws TskCoreException
+     */
+    private void prefetchExif(SleuthkitCase skCase, String batchIds) throws TskCoreException {
+        List<Long> artifactIds = new ArrayList<Long>();
+        LongIntHashMap artifacts = artifactSlots(skCase, BlackboardArtifact.ARTIFACT_TYPE.TSK_METADATA_EXIF, batchIds, artifactIds);
+        if (artifacts.size() > 0) {
+            int make = BlackboardAttribute.ATTRIBUTE_TYPE.TSK_DEVICE_MAKE.getTypeID();
+            int model = BlackboardAttribute.ATTRIBUTE_TYPE.TSK_DEVICE_MODEL.getTypeID();
+            int latitude = BlackboardAttribute.ATTRIBUTE_TYPE.TSK_GEO_LATITUDE.getTypeID();
+            int longitude = BlackboardAttribute.ATTRIBUTE_TYPE.TSK_GEO_LONGITUDE.getTypeID();
+            for (BlackboardAttribute attribute : skCase.getMatchingAttributes("WHERE artifact_id IN (" + ArtifactTagPager.joinIds(artifactIds) + ")"
+                    + " AND attribute_type_id IN (" + make + ", " + model + ", " + latitude + ", " + longitude + ")")) {
+                int slot = artifacts.get(attribute.getArtifactID());
+                if (slot < 0) {
+                    continue;
+                }
+                int type = attribute.getAttributeType().getTypeID();
+                if (type == make) {
+                    cameraMakes[slot] = attribute.getValueString();
+                } else if (type == model) {
+                    cameraModels[slot] = attribute.getValueString();
+                } else if (type == latitude) {
+                    latitudes[slot] = attribute.getValueDouble();
+                } else if (type == longitude) {
+                    longitudes[slot] = attribute.getValueDouble();
+                }
+            }
+        }
+    }
+
+    /**
+     * PrefetchHashSets Method
+     * Fifth Mutator Method.
+     *
+     * Retrieves the hash sets the given files were found in.
+     *
+     * @param skCase
+     * @param batchIds the object ids of the files, joined by commas
+     * @throws TskCoreException
+     */
+    private void prefetchHashSets(SleuthkitCase skCase, String batchIds) throws TskCoreException {
+        List<Long> artifactIds = new ArrayList<Long>();
+        LongIntHashMap artifacts = artifactSlots(skCase, BlackboardArtifact.ARTIFACT_TYPE.TSK_HASHSET_HIT, batchIds, artifactIds);
+        if (artifacts.size() > 0) {
+            for (BlackboardAttribute attribute : skCase.getMatchingAttributes("WHERE artifact_id IN (" + ArtifactTagPager.joinIds(artifactIds) + ")"
+                    + " AND attribute_type_id = " + BlackboardAttribute.ATTRIBUTE_TYPE.TSK_SET_NAME.getTypeID())) {
+                int slot = artifacts.get(attribute.getArtifactID());
+                String setName = attribute.getValueString();
+                if (slot < 0 || setName == null || setName.isEmpty()) {
+                    continue;
+                }
+                if (hashSets[slot] == null) {
+                    hashSets[slot] = setName;
+                } else if (!Arrays.asList(hashSets[slot].split(", ")).contains(setName)) {
+                    hashSets[slot] = hashSets[slot] + ", " + setName;
+                }
+            }
+        }
+    }
+
+    /**
+     * GetFileSize Method
+     * First Accessor Method.
+     *
+     * @param objectId
+     * @return the size of the file in bytes, or null if the file was not added
+     */
+    String getFileSize(long objectId) {
+        int slot = slots.get(objectId);
+        return slot < 0 ? null : fileSizes[slot] + " bytes";
+    }
+
+    /**
+     * GetMimeType Method
+     * Second Accessor Method.
+     *
+     * @param objectId
+     * @return the MIME type of the file, or null if it has not been detected
+     */
+    String getMimeType(long objectId) {
+        int slot = slots.get(objectId);
+        return slot < 0 ? null : mimeTypes[slot];
+    }
+
+    /**
+     * GetCamera Method
+     * Third Accessor Method.
+     *
+     * @param objectId
+     * @return the make and model of the camera the file was taken with, or null if there is no EXIF camera
+     */
+    String getCamera(long objectId) {
+        int slot = slots.get(objectId);
+        if (slot < 0 || (cameraMakes[slot] == null && cameraModels[slot] == null)) {
+            return null;
+        }
+        if (cameraMakes[slot] == null || cameraModels[slot] == null) {
+            return cameraMakes[slot] == null ? cameraModels[slot] : cameraMakes[slot];
+        }
+        return cameraModels[slot].startsWith(cameraMakes[slot]) ? cameraModels[slot] : cameraMakes[slot] + " " + cameraModels[slot];
+    }
+
+    /**
+     * GetGpsLocation Method
+     * Fourth Accessor Method.
+     *
+     * @param objectId
+     * @return the latitude and longitude the file was taken at, or null if there is no EXIF location
+     */
+    String getGpsLocation(long objectId) {
+        int slot = slots.get(objectId);
+        if (slot < 0 || Double.isNaN(latitudes[slot]) || Double.isNaN(longitudes[slot])) {
+            return null;
+        }
+        return latitudes[slot] + ", " + longitudes[slot];
+    }
+
+    /**
+     * GetHashSets Method
+     * Fifth Accessor Method.
+     *
+     * @param objectId
+     * @return the names of the hash sets the file was found in, or null if there are none
+     */
+    String getHashSets(long objectId) {
+        int slot = slots.get(objectId);
+        return slot < 0 ? null : hashSets[slot];
+    }
+
+    /**
+     * Get Method
+     * Sixth Accessor Method.
+     *
+     * @param field an extended field
+     * @param objectId
+     * @return the value of the given extended field of the file, or null if it has none
+     */
+    String get(EvidenceField field, long objectId) {
+        switch (field) {
+            case SIZE:
+                return getFileSize(objectId);
+            case MIME_TYPE:
+                return getMimeType(objectId);
+            case CAMERA:
+                return getCamera(objectId);
+            case GPS_LOCATION:
+                return getGpsLocation(objectId);
+            case HASH_SET_HITS:
+                return getHashSets(objectId);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * ArtifactSlots Method
+     * Seventh Accessor Method.
+     *
+     * Maps the artifacts of the given type which belong to the given files to the slots of those files.
+     *
+     * @param skCase
+     * @param type
+     * @param batchIds the object ids of the files, joined by commas
+     * @param artifactIds the ids of the artifacts found are added to this list
+     * @return slots keyed by artifact id
+     * @throws TskCoreException
+     */
+    private LongIntHashMap artifactSlots(SleuthkitCase skCase, BlackboardArtifact.ARTIFACT_TYPE type, String batchIds, List<Long> artifactIds) throws TskCoreException {
+        LongIntHashMap artifacts = new LongIntHashMap(BATCH_SIZE);
+        for (BlackboardArtifact artifact : skCase.getMatchingArtifacts("WHERE blackboard_artifacts.artifact_type_id = " + type.getTypeID()
+                + " AND blackboard_artifacts.obj_id IN (" + batchIds + ")")) {
+            int slot = slots.get(artifact.getObjectID());
+            if (slot >= 0) {
+                artifacts.put(artifact.getArtifactID(), slot);
+                artifactIds.add(artifact.getArtifactID());
+            }
+        }
+        return artifacts;
+    }
+
+    /**
+     * Grow Method
+     * Third Mutator Method.
+     *
+     * Doubles the capacity of every column.
+     *
+     */
+    private void grow() {
+        int capacity = fileSizes.length * 2;
+        objectIds = Arrays.copyOf(objectIds, capacity);
+        fileSizes = Arrays.copyOf(fileSizes, capacity);
+        mimeTypes = Arrays.copyOf(mimeTypes, capacity);
+        cameraMakes = Arrays.copyOf(cameraMakes, capacity);
+        cameraModels = Arrays.copyOf(cameraModels, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        hashSets = Arrays.copyOf(hashSets, capacity);
+    }
+}
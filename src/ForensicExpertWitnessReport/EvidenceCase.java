@@ -0,0 +1,130 @@
+/*
+ * Class EvidenceCase.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to hold one of the Autopsy cases the evidence of
+ * a forensic expert witness report is added from, such as the case of every
+ * device seized in an investigation, together with the evidence collected from
+ * it. The current case is read through the database of Autopsy, and every other
+ * case through a database of its own, opened for the run and closed once the
+ * report is written, so that the cases can be read at the same time.
+ *
+ * The tag names of another case are those with the same display names as the tag
+ * names chosen in the current case. As the object ids of files are only unique
+ * within a case, the sorted files, extended fields and images of the tagged files are
+ * held separately for every case.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.sleuthkit.autopsy.casemodule.Case;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class EvidenceCase {
+
+    // Declare Instance Variables
+    static final String CASE_DATABASE = "autopsy.db";
+    final String name;
+    final String directory;
+    final SleuthkitCase skCase;
+    final List<TagName> tagNames;
+    private final boolean opened;
+
+    // Declare the evidence collected from the case
+    final List<TagName> sectionTagNames = new ArrayList<TagName>();
+    final List<EvidenceSorter> sorters = new ArrayList<EvidenceSorter>();
+    final List<Long> artifactTagCounts = new ArrayList<Long>();
+    EvidenceAttributes evidenceAttributes = null;
+    EvidenceImages images = null;
+    long total = 0;
+
+    /**
+     * Constructor for objects of class EvidenceCase
+     * First and only Constructor.
+     *
+     * @param name the name of the case, shown before its evidence if the report has several cases
+     * @param directory the directory of the case, telling apart the files of cases with the same object ids
+     * @param skCase
+     * @param tagNames the tag names of the case to add the evidence of
+     * @param opened whether the database was opened for the run, and is to be closed with it
+     */
+    private EvidenceCase(String name, String directory, SleuthkitCase skCase, List<TagName> tagNames, boolean opened) {
+        this.name = name;
+        this.directory = directory;
+        this.skCase = skCase;
+        this.tagNames = tagNames;
+        this.opened = opened;
+    }
+
+    /**
+     * Current Method
+     * First Mutator Method.
+     *
+     * @param tagNames the chosen tag names
+     * @return the current case of Autopsy
+     */
+    static EvidenceCase current(List<TagName> tagNames) {
+        Case currentCase = Case.getCurrentCase();
+        return new EvidenceCase(currentCase.getDisplayName(), new File(currentCase.getCaseDirectory()).getAbsolutePath(), currentCase.getSleuthkitCase(), tagNames, false);
+    }
+
+    /**
+     * Open Method
+     * Second Mutator Method.
+     *
+     * Opens the database of another single-user case, finding the tag names with
+     * the same display names as the chosen tag names.
+     *
+     * @param caseDirectory
+     * @param tagNames the chosen tag names of the current case
+     * @return case
+     * @throws TskCoreException if the case could not be opened
+     */
+    static EvidenceCase open(String caseDirectory, List<TagName> tagNames) throws TskCoreException {
+        File directory = new File(caseDirectory);
+        File database = new File(directory, CASE_DATABASE);
+        if (!database.isFile()) {
+            throw new TskCoreException("No single-user case database in " + caseDirectory);
+        }
+        SleuthkitCase skCase = SleuthkitCase.openCase(database.getPath());
+        try {
+            Set<String> displayNames = new HashSet<String>();
+            for (TagName tagName : tagNames) {
+                displayNames.add(tagName.getDisplayName());
+            }
+            List<TagName> caseTagNames = new ArrayList<TagName>();
+            for (TagName tagName : skCase.getAllTagNames()) {
+                if (displayNames.contains(tagName.getDisplayName())) {
+                    caseTagNames.add(tagName);
+                }
+            }
+            return new EvidenceCase(directory.getName(), directory.getAbsolutePath(), skCase, caseTagNames, true);
+        } catch (TskCoreException ex) {
+            skCase.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Close Method
+     * Third Mutator Method.
+     *
+     * Removes the sorted files of the case, and closes its database if it was opened for the run.
+     */
+    void close() {
+        for (EvidenceSorter sorter : sorters) {
+            sorter.discard();
+        }
+        if (opened) {
+            skCase.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Enum EvidenceField.java of package ForensicExpertWitnessReport
+ *
+ * Using this enum you are able to choose which rows are shown in the table of
+ * every tagged file in the forensic expert witness report. Only the fields which
+ * are shown, or which are needed to order the tables, are retrieved from Autopsy.
+ * The extended fields are not shown unless chosen, and are held in EvidenceAttributes.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+enum EvidenceField {
+
+    FILE_NAME("File Name"),
+    FILE_PATH("File Path"),
+    HASH("Hash Value"),
+    CREATED_TIME("Created time"),
+    MODIFIED_TIME("Modified time"),
+    ACCESSED_TIME("Accessed time"),
+    SIZE("Size"),
+    MIME_TYPE("MIME Type"),
+    CAMERA("Camera"),
+    GPS_LOCATION("GPS Location"),
+    HASH_SET_HITS("Hash Set Hits");
+
+    // Declare Instance Variables
+    private final String displayName;
+
+    /**
+     * Constructor for EvidenceField
+     * First and only Constructor.
+     *
+     * @param displayName the title of the row of the field
+     */
+    private EvidenceField(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * IsTime Method
+     * First Accessor Method.
+     *
+     * @return whether the field is one of the created, modified or accessed times
+     */
+    boolean isTime() {
+        return this == CREATED_TIME || this == MODIFIED_TIME || this == ACCESSED_TIME;
+    }
+
+    /**
+     * IsExtended Method
+     * Second Accessor Method.
+     *
+     * @return whether the field is held in EvidenceAttributes rather than in the EvidenceStore
+     */
+    boolean isExtended() {
+        return compareTo(SIZE) >= 0;
+    }
+
+    /**
+     * ToString Method
+     * Third Accessor Method.
+     *
+     * @return displayName
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
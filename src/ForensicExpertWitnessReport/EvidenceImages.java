@@ -0,0 +1,425 @@
+/*
+ * Class EvidenceImages.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to add the tagged images into the forensic expert
+ * witness report, shown in the table of their file. A tagged file is an image if
+ * the case found it to be a JPEG, PNG or GIF image, or, if the type of the file was
+ * not found, if its first bytes are the signature of one. The images added are held
+ * in memory by the report until it is written, so they are limited to a budget of
+ * bytes, past which images are skipped.
+ *
+ * While the tagged files are collected, an image is only reserved against the
+ * budget. Its content is read and added to the report when the table of its file
+ * is built, so that a run which stops before building the tables, such as when the
+ * evidence heading is not found or the user cancels, leaves no pictures in the
+ * report which no table refers to. The content of every image is read from the
+ * case straight into the array given to the report, without being written to
+ * disk first, and only the header of the image is read to size it in the table.
+ *
+ * Every case a report is built from has an EvidenceImages of its own, shared by
+ * the threads building its sections. The images are read and sized by those
+ * threads at the same time, each image once, and only adding the picture to the
+ * report is done one at a time. Every placement of a picture in a table is given
+ * a drawing id of its own, so a file shown in several tables has unique ids.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.xwpf.usermodel.Document;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlToken;
+import org.sleuthkit.autopsy.coreutils.Logger;
+import org.sleuthkit.datamodel.AbstractFile;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class EvidenceImages {
+
+    // Declare Instance Variables
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SIGNATURE_SIZE = 8;
+    private static final long EMU_PER_PIXEL = 9525;
+    private static final long MAX_EXTENT = 3 * 914400;
+    private static final AtomicInteger DRAWING_IDS = new AtomicInteger(10000);
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87_SIGNATURE = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89_SIGNATURE = {'G', 'I', 'F', '8', '9', 'a'};
+    private final XWPFDocument document;
+    private final SleuthkitCase skCase;
+    private final long budget;
+    private final byte[] signature = new byte[SIGNATURE_SIZE];
+    private final Map<Long, Integer> reserved = new HashMap<Long, Integer>();
+    private final Map<Long, FutureTask<Picture>> pictures = new HashMap<Long, FutureTask<Picture>>();
+    private long reservedBytes = 0;
+    private int addedCount = 0;
+    private long added = 0;
+    private int skipped = 0;
+
+    /**
+     * Class Picture of package ForensicExpertWitnessReport
+     *
+     * An image added to the report, referred to by the tables through its relationship id.
+     * A picture read from a SectionWorker shard carries the drawing id of its one
+     * placement, given by the process of the report, otherwise every placement is
+     * given a new drawing id.
+     *
+     */
+    static class Picture {
+        final String relationId;
+        final int drawingId;
+        final long width;
+        final long height;
+
+        Picture(String relationId, int drawingId, long width, long height) {
+            this.relationId = relationId;
+            this.drawingId = drawingId;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * AddTo Method
+         * First Mutator Method.
+         *
+         * Draws the picture inline in the given run, which may belong to a section
+         * merged into the report later, as the picture is referred to by id.
+         *
+         * @param run
+         */
+        void addTo(XWPFRun run) {
+            int drawingId = this.drawingId > 0 ? this.drawingId : DRAWING_IDS.incrementAndGet();
+            String xml = "<wp:inline distT=\"0\" distB=\"0\" distL=\"0\" distR=\"0\""
+                    + " xmlns:wp=\"http://schemas.openxmlformats.org/drawingml/2006/wordprocessingDrawing\""
+                    + " xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\""
+                    + " xmlns:pic=\"http://schemas.openxmlformats.org/drawingml/2006/picture\""
+                    + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                    + "<wp:extent cx=\"" + width + "\" cy=\"" + height + "\"/>"
+                    + "<wp:docPr id=\"" + drawingId + "\" name=\"Picture " + drawingId + "\"/>"
+                    + "<a:graphic><a:graphicData uri=\"http://schemas.openxmlformats.org/drawingml/2006/picture\"><pic:pic>"
+                    + "<pic:nvPicPr><pic:cNvPr id=\"" + drawingId + "\" name=\"Picture " + drawingId + "\"/><pic:cNvPicPr/></pic:nvPicPr>"
+                    + "<pic:blipFill><a:blip r:embed=\"" + relationId + "\"/><a:stretch><a:fillRect/></a:stretch></pic:blipFill>"
+                    + "<pic:spPr><a:xfrm><a:off x=\"0\" y=\"0\"/><a:ext cx=\"" + width + "\" cy=\"" + height + "\"/></a:xfrm>"
+                    + "<a:prstGeom prst=\"rect\"><a:avLst/></a:prstGeom></pic:spPr>"
+                    + "</pic:pic></a:graphicData></a:graphic></wp:inline>";
+            try {
+                run.getCTR().addNewDrawing().addNewInline().set(XmlToken.Factory.parse(xml));
+            } catch (XmlException ex) {
+                throw new IllegalStateException("Invalid picture " + relationId, ex);
+            }
+        }
+
+        /**
+         * WriteTo Method
+         * First Accessor Method.
+         *
+         * Writes the picture to the given stream, such as for a SectionWorker, with
+         * a new drawing id for the one placement it is written for.
+         *
+         * @param out
+         * @throws IOException
+         */
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(relationId);
+            out.writeInt(DRAWING_IDS.incrementAndGet());
+            out.writeLong(width);
+            out.writeLong(height);
+        }
+
+        /**
+         * ReadFrom Method
+         * Second Mutator Method.
+         *
+         * @param in
+         * @return a picture written by writeTo
+         * @throws IOException
+         */
+        static Picture readFrom(DataInputStream in) throws IOException {
+            return new Picture(in.readUTF(), in.readInt(), in.readLong(), in.readLong());
+        }
+    }
+
+    /**
+     * Constructor for objects of class EvidenceImages
+     * First and only Constructor.
+     *
+     * @param document the report the images are added to
+     * @param skCase the case the images are read from
+     * @param budget the bytes of images which may be added
+     */
+    EvidenceImages(XWPFDocument document, SleuthkitCase skCase, long budget) {
+        this.document = document;
+        this.skCase = skCase;
+        this.budget = budget;
+    }
+
+    /**
+     * Reserve Method
+     * First Mutator Method.
+     *
+     * Reserves the given file against the budget, if it is an image and has not
+     * been reserved already, to be added when the table of the file is built. The
+     * image is skipped if it would exceed the budget.
+     *
+     * @param content
+     * @return whether the image was reserved
+     * @throws TskCoreException
+     */
+    synchronized boolean reserve(AbstractFile content) throws TskCoreException {
+        if (reserved.containsKey(content.getId()) || pictures.containsKey(content.getId())) {
+            return false;
+        }
+        int type = pictureType(content);
+        if (type < 0) {
+            return false;
+        }
+        long size = content.getSize();
+        if (size <= 0 || size > Integer.MAX_VALUE || reservedBytes + size > budget) {
+            skipped++;
+            return false;
+        }
+        reserved.put(content.getId(), type);
+        reservedBytes += size;
+        return true;
+    }
+
+    /**
+     * Get Method
+     * Second Mutator Method.
+     *
+     * Adds the image of the given file to the report the first time its table is
+     * built, reading its content from the case, if it was reserved. The image is
+     * read by the first thread asking for it, without holding the lock of the
+     * images, and any other thread asking for it at the same time waits for it.
+     *
+     * @param objectId
+     * @return the picture of the given file, or null if it was not reserved or could not be read as an image
+     */
+    Picture get(final long objectId) {
+        FutureTask<Picture> task;
+        boolean load = false;
+        synchronized (this) {
+            task = pictures.get(objectId);
+            if (task == null) {
+                final Integer type = reserved.remove(objectId);
+                if (type == null) {
+                    return null;
+                }
+                task = new FutureTask<Picture>(new Callable<Picture>() {
+                    @Override
+                    public Picture call() {
+                        return load(objectId, type);
+                    }
+                });
+                pictures.put(objectId, task);
+                load = true;
+            }
+        }
+        if (load) {
+            task.run();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException ex) {
+            Logger.getLogger(EvidenceImages.class.getName()).log(Level.SEVERE, "Error adding image " + objectId, ex.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Load Method
+     * Third Mutator Method.
+     *
+     * Reads the content of the given file from the case and adds it to the report,
+     * counting it as added or skipped.
+     *
+     * @param objectId
+     * @param type the type of picture
+     * @return the picture, or null if the file cannot be read as an image
+     */
+    private Picture load(long objectId, int type) {
+        Picture picture = null;
+        long size = 0;
+        try {
+            AbstractFile content = skCase.getAbstractFileById(objectId);
+            if (content != null) {
+                size = content.getSize();
+                picture = add(content, type);
+            }
+        } catch (TskCoreException | InvalidFormatException ex) {
+            Logger.getLogger(EvidenceImages.class.getName()).log(Level.SEVERE, "Error adding image " + objectId, ex);
+        }
+        synchronized (this) {
+            if (picture == null) {
+                skipped++;
+            } else {
+                addedCount++;
+                added += size;
+            }
+        }
+        return picture;
+    }
+
+    /**
+     * Add Method
+     * Fourth Mutator Method.
+     *
+     * Reads the content of the given file into a picture of the report.
+     *
+     * @param content
+     * @param type the type of picture
+     * @return the picture, or null if the file cannot be read as an image
+     * @throws TskCoreException
+     * @throws InvalidFormatException
+     */
+    private Picture add(AbstractFile content, int type) throws TskCoreException, InvalidFormatException {
+        long size = content.getSize();
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        // Read the content straight into an array of the exact size of the image, through a buffer only if the case returns it in parts
+        byte[] data = new byte[(int) size];
+        int offset = Math.max(content.read(data, 0, data.length), 0);
+        byte[] buffer = null;
+        while (offset < data.length) {
+            if (buffer == null) {
+                buffer = new byte[Math.min(BUFFER_SIZE, data.length - offset)];
+            }
+            int read = content.read(buffer, offset, Math.min(buffer.length, data.length - offset));
+            if (read <= 0) {
+                break;
+            }
+            System.arraycopy(buffer, 0, data, offset, read);
+            offset += read;
+        }
+        if (offset < data.length) {
+            return null;
+        }
+
+        // Size the picture from the header of the image, to fit the table
+        long[] extent = extent(data);
+        if (extent == null) {
+            return null;
+        }
+        String relationId;
+        synchronized (document) {
+            relationId = document.addPictureData(data, type);
+        }
+        return new Picture(relationId, 0, extent[0], extent[1]);
+    }
+
+    /**
+     * GetSkipped Method
+     * First Accessor Method.
+     *
+     * @return the amount of images which were skipped
+     */
+    synchronized int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Summary Method
+     * Second Accessor Method.
+     *
+     * @return the amount and size of the images added and the amount skipped
+     */
+    synchronized String summary() {
+        return addedCount + " images (" + (added / (1024 * 1024)) + " MB) added, " + skipped + " skipped";
+    }
+
+    private static long[] extent(byte[] data) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long width = reader.getWidth(0) * EMU_PER_PIXEL;
+                long height = reader.getHeight(0) * EMU_PER_PIXEL;
+                double scale = Math.min(1.0, Math.min((double) MAX_EXTENT / width, (double) MAX_EXTENT / height));
+                return new long[] {Math.max(1, (long) (width * scale)), Math.max(1, (long) (height * scale))};
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * PictureType Method
+     * Third Accessor Method.
+     *
+     * Finds the type of picture of a file from the MIME type found by the case or,
+     * if the case has not found one, from the signature in the first bytes of the file.
+     *
+     * @param file
+     * @return the type of picture, or -1 if the file is not a JPEG, PNG or GIF image
+     * @throws TskCoreException
+     */
+    private int pictureType(AbstractFile file) throws TskCoreException {
+        String mimeType = file.getMIMEType();
+        if (mimeType != null && !mimeType.equals("application/octet-stream")) {
+            switch (mimeType) {
+                case "image/jpeg":
+                    return Document.PICTURE_TYPE_JPEG;
+                case "image/png":
+                    return Document.PICTURE_TYPE_PNG;
+                case "image/gif":
+                    return Document.PICTURE_TYPE_GIF;
+                default:
+                    return -1;
+            }
+        }
+        int read = file.read(signature, 0, SIGNATURE_SIZE);
+        if (startsWith(signature, read, JPEG_SIGNATURE)) {
+            return Document.PICTURE_TYPE_JPEG;
+        }
+        if (startsWith(signature, read, PNG_SIGNATURE)) {
+            return Document.PICTURE_TYPE_PNG;
+        }
+        if (startsWith(signature, read, GIF87_SIGNATURE) || startsWith(signature, read, GIF89_SIGNATURE)) {
+            return Document.PICTURE_TYPE_GIF;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] data, int length, byte[] signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i=0; i<signature.length; i++) {
+            if (data[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
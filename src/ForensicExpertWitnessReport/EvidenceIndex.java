@@ -0,0 +1,210 @@
+/*
+ * Class EvidenceIndex.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to find the files which have been tagged under
+ * more than one of the selected tag names, so that each file is only added into
+ * the forensic expert witness report once. Content object ids are held in an
+ * open addressing hash table of primitive longs, which keeps look ups constant
+ * time without an object per tagged file. Every file collects the names of the
+ * tag names it was tagged under and the comments it was tagged with.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+class EvidenceIndex {
+
+    // Declare Instance Variables
+    private static final long EMPTY = Long.MIN_VALUE;
+    private long[] keys;
+    private int[] slots;
+    private int size = 0;
+    private String[] tagNames;
+    private String[] comments;
+    private final BitSet rendered = new BitSet();
+
+    /**
+     * Constructor for objects of class EvidenceIndex
+     * First and only Constructor.
+     *
+     * @param expectedSize
+     */
+    EvidenceIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        slots = new int[capacity];
+        tagNames = new String[Math.max(expectedSize, 8)];
+        comments = new String[Math.max(expectedSize, 8)];
+    }
+
+    /**
+     * Add Method
+     * First Mutator Method.
+     *
+     * Records that the given file was tagged under the given tag name with the given comment.
+     *
+     * @param objectId
+     * @param tagName
+     * @param comment
+     */
+    void add(long objectId, String tagName, String comment) {
+        int slot = slotOf(objectId);
+        if (slot < 0) {
+            slot = insert(objectId);
+            tagNames[slot] = tagName;
+            comments[slot] = comment == null || comment.isEmpty() ? null : comment;
+            return;
+        }
+        if (!containsPart(tagNames[slot], tagName, ", ")) {
+            tagNames[slot] = tagNames[slot] + ", " + tagName;
+        }
+        if (comment != null && !comment.isEmpty()) {
+            if (comments[slot] == null) {
+                comments[slot] = comment;
+            } else if (!containsPart(comments[slot], comment, "; ")) {
+                comments[slot] = comments[slot] + "; " + comment;
+            }
+        }
+    }
+
+    /**
+     * MarkRendered Method
+     * Second Mutator Method.
+     *
+     * Marks the given file as added into the report, once it has been added under a tag name.
+     *
+     * @param objectId
+     */
+    void markRendered(long objectId) {
+        int slot = slotOf(objectId);
+        if (slot >= 0) {
+            rendered.set(slot);
+        }
+    }
+
+    /**
+     * IsRendered Method
+     * Fifth Accessor Method.
+     *
+     * @param objectId
+     * @return true if the file has already been added into the report under another tag name
+     */
+    boolean isRendered(long objectId) {
+        int slot = slotOf(objectId);
+        return slot >= 0 && rendered.get(slot);
+    }
+
+    /**
+     * GetTagNames Method
+     * First Accessor Method.
+     *
+     * @param objectId
+     * @return the names of every tag name the file was tagged under, or null if it is not indexed
+     */
+    String getTagNames(long objectId) {
+        int slot = slotOf(objectId);
+        return slot < 0 ? null : tagNames[slot];
+    }
+
+    /**
+     * GetComments Method
+     * Second Accessor Method.
+     *
+     * @param objectId
+     * @return every comment the file was tagged with, or null if there are none
+     */
+    String getComments(long objectId) {
+        int slot = slotOf(objectId);
+        return slot < 0 ? null : comments[slot];
+    }
+
+    /**
+     * Size Method
+     * Third Accessor Method.
+     *
+     * @return the amount of distinct files indexed
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * SlotOf Method
+     * Fourth Accessor Method.
+     *
+     * @param objectId
+     * @return the slot of the given file, or -1 if it is not indexed
+     */
+    private int slotOf(long objectId) {
+        int mask = keys.length - 1;
+        for (int i=hash(objectId) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == objectId) {
+                return slots[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Insert Method
+     * Third Mutator Method.
+     *
+     * Adds a file which is not yet indexed, growing the table when it is half full.
+     *
+     * @param objectId
+     * @return the slot of the file
+     */
+    private int insert(long objectId) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        if (size == tagNames.length) {
+            tagNames = Arrays.copyOf(tagNames, size * 2);
+            comments = Arrays.copyOf(comments, size * 2);
+        }
+        int mask = keys.length - 1;
+        int i = hash(objectId) & mask;
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = objectId;
+        slots[i] = size;
+        return size++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int j=0; j<oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                slots[i] = oldSlots[j];
+            }
+        }
+    }
+
+    private static int hash(long objectId) {
+        long h = objectId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean containsPart(String joined, String part, String separator) {
+        if (joined.equals(part)) {
+            return true;
+        }
+        return joined.startsWith(part + separator) || joined.endsWith(separator + part) || joined.contains(separator + part + separator);
+    }
+}
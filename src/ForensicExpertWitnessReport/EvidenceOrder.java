@@ -0,0 +1,128 @@
+/*
+ * Enum EvidenceOrder.java of package ForensicExpertWitnessReport
+ *
+ * Using this enum you are able to choose the order in which tagged files are
+ * added into the forensic expert witness report. Every order compares records
+ * both inside an EvidenceStore and as EvidenceRecords read back from disk, so
+ * that sorting in memory and sorting on disk give the same order.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+enum EvidenceOrder {
+
+    TAGGED("Order tagged"),
+    PATH("File path"),
+    MODIFIED_TIME("Modified time"),
+    HASH("Hash value");
+
+    // Declare Instance Variables
+    private final String displayName;
+
+    /**
+     * Constructor for EvidenceOrder
+     * First and only Constructor.
+     *
+     * @param displayName
+     */
+    private EvidenceOrder(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Compare Method
+     * First Accessor Method.
+     *
+     * Compares two records of the same store.
+     *
+     * @param store
+     * @param a
+     * @param b
+     * @param groupByParent compare the parent directories first
+     * @return a negative number, zero, or a positive number as a is ordered before, with or after b
+     */
+    int compare(EvidenceStore store, int a, int b, boolean groupByParent) {
+        int result = 0;
+        if (groupByParent || this == PATH) {
+            result = store.getParentPath(a).compareTo(store.getParentPath(b));
+        }
+        if (result != 0) {
+            return result;
+        }
+        switch (this) {
+            case PATH:
+                return compareStrings(store.getLeafName(a), store.getLeafName(b));
+            case MODIFIED_TIME:
+                return compareLongs(store.getModifiedTime(a), store.getModifiedTime(b));
+            case HASH:
+                return store.compareMd5Hash(a, b);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Compare Method
+     * Second Accessor Method.
+     *
+     * Compares two records which have been read out of a store.
+     *
+     * @param a
+     * @param b
+     * @param groupByParent compare the parent directories first
+     * @return a negative number, zero, or a positive number as a is ordered before, with or after b
+     */
+    int compare(EvidenceRecord a, EvidenceRecord b, boolean groupByParent) {
+        int result = 0;
+        if (groupByParent || this == PATH) {
+            result = a.parentPath.compareTo(b.parentPath);
+        }
+        if (result != 0) {
+            return result;
+        }
+        switch (this) {
+            case PATH:
+                // The parent directories are equal, so the paths compare by leaf name
+                return compareStrings(a.path, b.path);
+            case MODIFIED_TIME:
+                return compareLongs(a.modifiedTime, b.modifiedTime);
+            case HASH:
+                // Lower case hexadecimal compares the same as the unsigned hash bytes, other hash values next and missing hashes last, as in EvidenceStore
+                result = hashRank(a.md5hash) - hashRank(b.md5hash);
+                if (result != 0 || a.md5hash == null) {
+                    return result;
+                }
+                return a.md5hash.compareTo(b.md5hash);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * ToString Method
+     * Third Accessor Method.
+     *
+     * @return displayName
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    private static int compareLongs(long a, long b) {
+        return a < b ? -1 : (a == b ? 0 : 1);
+    }
+
+    private static int hashRank(String hash) {
+        return hash == null ? 2 : EvidenceStore.isMd5Hash(hash) ? 0 : 1;
+    }
+
+    private static int compareStrings(String a, String b) {
+        if (a == null || b == null) {
+            return (a == null ? 1 : 0) - (b == null ? 1 : 0);
+        }
+        return a.compareTo(b);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Class EvidenceRecord.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to read a single tagged file back out of an
+ * EvidenceStore. One record is re-used for every read, so that rendering a
+ * tag name does not create an object per tagged file. Records can also be
+ * written to and read from disk, for sorting tag names too large for memory.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.sleuthkit.datamodel.AbstractFile;
+
+class EvidenceRecord {
+
+    // Declare Instance Variables
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    long objectId;
+    String fileName;
+    String path;
+    String parentPath;
+    String md5hash;
+    String comment;
+    String tagNames;
+    long createdTime;
+    long modifiedTime;
+    long accessedTime;
+
+    /**
+     * GetCreatedTime Method
+     * First Accessor Method.
+     *
+     * @return the created time, formatted as Autopsy displays it
+     */
+    String getCreatedTime() {
+        return formatTime(createdTime);
+    }
+
+    /**
+     * GetModifiedTime Method
+     * Second Accessor Method.
+     *
+     * @return the modified time, formatted as Autopsy displays it
+     */
+    String getModifiedTime() {
+        return formatTime(modifiedTime);
+    }
+
+    /**
+     * GetAccessedTime Method
+     * Third Accessor Method.
+     *
+     * @return the accessed time, formatted as Autopsy displays it
+     */
+    String getAccessedTime() {
+        return formatTime(accessedTime);
+    }
+
+    /**
+     * WriteTo Method
+     * Fourth Accessor Method.
+     *
+     * Writes this record to the given stream.
+     *
+     * @param out
+     * @throws IOException
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(objectId);
+        writeString(out, fileName);
+        writeString(out, path);
+        writeString(out, parentPath);
+        writeString(out, md5hash);
+        writeString(out, comment);
+        writeString(out, tagNames);
+        out.writeLong(createdTime);
+        out.writeLong(modifiedTime);
+        out.writeLong(accessedTime);
+    }
+
+    /**
+     * ReadFrom Method
+     * First Mutator Method.
+     *
+     * Replaces the fields of this record with a record written by writeTo.
+     *
+     * @param in
+     * @return this record
+     * @throws IOException
+     */
+    EvidenceRecord readFrom(DataInputStream in) throws IOException {
+        objectId = in.readLong();
+        fileName = readString(in);
+        path = readString(in);
+        parentPath = readString(in);
+        md5hash = readString(in);
+        comment = readString(in);
+        tagNames = readString(in);
+        createdTime = in.readLong();
+        modifiedTime = in.readLong();
+        accessedTime = in.readLong();
+        return this;
+    }
+
+    /**
+     * CopyFrom Method
+     * Second Mutator Method.
+     *
+     * Replaces the fields of this record with those of another record.
+     *
+     * @param other
+     * @return this record
+     */
+    EvidenceRecord copyFrom(EvidenceRecord other) {
+        objectId = other.objectId;
+        fileName = other.fileName;
+        path = other.path;
+        parentPath = other.parentPath;
+        md5hash = other.md5hash;
+        comment = other.comment;
+        tagNames = other.tagNames;
+        createdTime = other.createdTime;
+        modifiedTime = other.modifiedTime;
+        accessedTime = other.accessedTime;
+        return this;
+    }
+
+    /**
+     * FormatTime Method
+     * Fifth Accessor Method.
+     *
+     * Formats epoch seconds the same way as AbstractFile.get*timeAsDate().
+     *
+     * @param epoch
+     * @return formatted time
+     */
+    @SuppressWarnings("deprecation")
+    static String formatTime(long epoch) {
+        return AbstractFile.epochToTime(epoch);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF8);
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Class EvidenceSorter.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to order, and group by parent directory, the
+ * tagged files of a tag name before they are added into the forensic expert
+ * witness report. Files are collected into an EvidenceStore. Once the store
+ * holds more records than the configured memory threshold it is sorted and
+ * written to disk as a run, and the runs are merged when the files are read
+ * back, so that ordering a very large tag name does not exhaust the heap. No
+ * more than MAX_FAN_IN runs are open at once: if there are more, consecutive
+ * runs are first merged into longer runs on disk, in as many passes as needed.
+ *
+ * The runs are written into the ReportWorkspace of the run. Once the workspace
+ * is out of its budget, the files held in memory are kept there and merged with
+ * the runs when read back, and any further file past the memory threshold is
+ * skipped, so that a full workspace leaves files out rather than the heap.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import org.sleuthkit.autopsy.coreutils.Logger;
+
+class EvidenceSorter {
+
+    // Declare Instance Variables
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final int MAX_FAN_IN = 64;
+    private final EvidenceOrder order;
+    private final boolean groupByParent;
+    private int memoryThreshold;
+    private final ReportWorkspace workspace;
+    private final EvidenceStore store;
+    private final List<File> runs = new ArrayList<File>();
+    private int size = 0;
+    private int skipped = 0;
+    private boolean workspaceFull = false;
+
+    /**
+     * Constructor for objects of class EvidenceSorter
+     * First and only Constructor.
+     *
+     * @param order
+     * @param groupByParent
+     * @param memoryThreshold the amount of records held in memory before sorting on disk
+     * @param expectedSize
+     * @param workspace the workspace to write runs into, or null for the system temporary directory without a budget
+     */
+    EvidenceSorter(EvidenceOrder order, boolean groupByParent, int memoryThreshold, int expectedSize, ReportWorkspace workspace) {
+        this.order = order;
+        this.groupByParent = groupByParent;
+        this.memoryThreshold = Math.max(memoryThreshold, 1);
+        this.workspace = workspace;
+        this.store = new EvidenceStore(Math.min(expectedSize, this.memoryThreshold));
+    }
+
+    /**
+     * Add Method
+     * First Mutator Method.
+     *
+     * Adds the metadata of one tagged file, see EvidenceStore.add, unless the
+     * workspace is out of its budget and the memory threshold has been reached.
+     *
+     * @return whether the file was added, false if it was skipped
+     * @throws IOException if the store had to be written to disk and could not be
+     */
+    boolean add(long objectId, String fileName, String path, String md5hash, String comment, String tagNames, long createdTime, long modifiedTime, long accessedTime) throws IOException {
+        if (workspaceFull && store.size() >= memoryThreshold) {
+            skipped++;
+            return false;
+        }
+        store.add(objectId, fileName, path, md5hash, comment, tagNames, createdTime, modifiedTime, accessedTime);
+        size++;
+        if (store.size() >= memoryThreshold) {
+            spillUnlessFull();
+        }
+        return true;
+    }
+
+    /**
+     * Sort Method
+     * Second Mutator Method.
+     *
+     * Sorts the added files and returns a cursor which reads them back in order.
+     * The cursor must be closed to remove any runs written to disk.
+     *
+     * @return cursor
+     * @throws IOException
+     */
+    Cursor sort() throws IOException {
+        if (runs.isEmpty()) {
+            return new MemoryCursor(sortedIndices());
+        }
+        if (store.size() > 0) {
+            spillUnlessFull();
+        }
+        try {
+            mergeRuns();
+            return new MergeCursor(runs, store.size() > 0 ? sortedIndices() : null);
+        } catch (IOException ex) {
+            discard();
+            throw ex;
+        }
+    }
+
+    /**
+     * Discard Method
+     * Third Mutator Method.
+     *
+     * Removes the added files, together with any runs written to disk, without reading them back.
+     *
+     */
+    void discard() {
+        store.clear();
+        for (File run : runs) {
+            deleteRun(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * ReduceMemory Method
+     * Fourth Mutator Method.
+     *
+     * Writes the files held in memory to disk, and holds no more than the given
+     * amount of files in memory from now on, for when the heap is running low.
+     *
+     * @param memoryThreshold
+     * @throws IOException
+     */
+    void reduceMemory(int memoryThreshold) throws IOException {
+        this.memoryThreshold = Math.max(Math.min(this.memoryThreshold, memoryThreshold), 1);
+        if (store.size() > 0) {
+            spillUnlessFull();
+        }
+    }
+
+    /**
+     * Size Method
+     * First Accessor Method.
+     *
+     * @return the amount of files added
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * IsGroupedByParent Method
+     * Second Accessor Method.
+     *
+     * @return groupByParent
+     */
+    boolean isGroupedByParent() {
+        return groupByParent;
+    }
+
+    /**
+     * GetSkipped Method
+     * Third Accessor Method.
+     *
+     * @return the amount of files skipped as the workspace was out of its budget
+     */
+    int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * SpillUnlessFull Method
+     * Fifth Mutator Method.
+     *
+     * Sorts the files held in memory and writes them to a new run on disk, unless
+     * the workspace is out of its budget, in which case the files are kept in memory.
+     *
+     * @throws IOException
+     */
+    private void spillUnlessFull() throws IOException {
+        if (workspaceFull) {
+            return;
+        }
+        File run = newRun();
+        boolean written = false;
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(openRun(run), BUFFER_SIZE));
+            try {
+                EvidenceRecord record = new EvidenceRecord();
+                for (int index : sortedIndices()) {
+                    store.read(index, record).writeTo(out);
+                }
+            } finally {
+                out.close();
+            }
+            written = true;
+        } catch (ReportWorkspace.BudgetExceededException ex) {
+            workspaceFull = true;
+            Logger.getLogger(EvidenceSorter.class.getName()).log(Level.WARNING, "{0}, keeping {1} files in memory and skipping any further files", new Object[]{ex.getMessage(), store.size()});
+        } finally {
+            if (!written) {
+                deleteRun(run);
+            }
+        }
+        if (written) {
+            runs.add(run);
+            store.clear();
+        }
+    }
+
+    /**
+     * MergeRuns Method
+     * Sixth Mutator Method.
+     *
+     * Merges every MAX_FAN_IN consecutive runs into one longer run, in passes,
+     * until no more than MAX_FAN_IN runs are left. As the merged runs are
+     * consecutive and stay in order, files which compare equal keep their order.
+     *
+     * @throws IOException
+     */
+    private void mergeRuns() throws IOException {
+        EvidenceRecord record = new EvidenceRecord();
+        while (runs.size() > MAX_FAN_IN) {
+            List<File> merged = new ArrayList<File>();
+            boolean done = false;
+            try {
+                for (int from=0; from<runs.size(); from+=MAX_FAN_IN) {
+                    List<File> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    File run = newRun();
+                    merged.add(run);
+                    MergeCursor cursor = new MergeCursor(group, null);
+                    try {
+                        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(openRun(run), BUFFER_SIZE));
+                        try {
+                            while (cursor.next(record)) {
+                                record.writeTo(out);
+                            }
+                        } finally {
+                            out.close();
+                        }
+                    } finally {
+                        cursor.closeRuns();
+                    }
+                    for (File mergedRun : group) {
+                        deleteRun(mergedRun);
+                    }
+                }
+                done = true;
+            } finally {
+                if (done) {
+                    runs.clear();
+                    runs.addAll(merged);
+                } else {
+                    // Keep the runs written by the failed pass, to be removed with the others
+                    for (File run : merged) {
+                        if (!runs.contains(run)) {
+                            runs.add(run);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * SortedIndices Method
+     * Seventh Mutator Method.
+     *
+     * Sorts the indices of the files held in memory with a stable merge sort,
+     * so that files which compare equal keep the order they were tagged in.
+     *
+     * @return indices
+     */
+    private int[] sortedIndices() {
+        int[] indices = new int[store.size()];
+        for (int i=0; i<indices.length; i++) {
+            indices[i] = i;
+        }
+        if (order != EvidenceOrder.TAGGED || groupByParent) {
+            mergeSort(indices, new int[indices.length], 0, indices.length);
+        }
+        return indices;
+    }
+
+    private void mergeSort(int[] indices, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, middle);
+        mergeSort(indices, buffer, middle, to);
+        if (order.compare(store, indices[middle - 1], indices[middle], groupByParent) <= 0) {
+            return;
+        }
+        System.arraycopy(indices, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i=from; i<to; i++) {
+            if (right >= to || (left < middle && order.compare(store, buffer[left], buffer[right], groupByParent) <= 0)) {
+                indices[i] = buffer[left++];
+            } else {
+                indices[i] = buffer[right++];
+            }
+        }
+    }
+
+    private File newRun() throws IOException {
+        return workspace == null ? File.createTempFile("ForensicReport", ".run") : workspace.createFile("ForensicReport", ".run");
+    }
+
+    private OutputStream openRun(File run) throws IOException {
+        return workspace == null ? new FileOutputStream(run) : workspace.output(run);
+    }
+
+    private void deleteRun(File run) {
+        boolean deleted = workspace == null ? run.delete() || !run.exists() : workspace.delete(run);
+        if (!deleted) {
+            Logger.getLogger(EvidenceSorter.class.getName()).log(Level.WARNING, "Unable to delete sort run {0}", run);
+        }
+    }
+
+    /**
+     * Interface Cursor of package ForensicExpertWitnessReport
+     *
+     * Reads sorted files back one at a time.
+     *
+     */
+    interface Cursor extends Closeable {
+
+        /**
+         * Fills the given record with the next file.
+         *
+         * @param record
+         * @return false if there are no more files
+         * @throws IOException
+         */
+        boolean next(EvidenceRecord record) throws IOException;
+    }
+
+    /**
+     * Class MemoryCursor of package ForensicExpertWitnessReport
+     *
+     * Reads files held in memory in the order of the sorted indices.
+     *
+     */
+    private class MemoryCursor implements Cursor {
+
+        private final int[] indices;
+        private int position = 0;
+
+        MemoryCursor(int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public boolean next(EvidenceRecord record) {
+            if (position >= indices.length) {
+                return false;
+            }
+            store.read(indices[position++], record);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            store.clear();
+        }
+    }
+
+    /**
+     * Class MergeCursor of package ForensicExpertWitnessReport
+     *
+     * Merges the given sorted runs on disk, together with the files held in memory
+     * if the workspace was out of its budget, taking the smallest head of every run
+     * in turn. Files which compare equal are taken from the earliest run, the files
+     * held in memory being the latest, keeping the merge stable.
+     *
+     */
+    private class MergeCursor implements Cursor {
+
+        private final PriorityQueue<Run> heads;
+
+        MergeCursor(List<File> files, int[] memoryIndices) throws IOException {
+            heads = new PriorityQueue<Run>(Math.max(files.size(), 1), new java.util.Comparator<Run>() {
+                @Override
+                public int compare(Run a, Run b) {
+                    int result = order.compare(a.head, b.head, groupByParent);
+                    return result != 0 ? result : a.number - b.number;
+                }
+            });
+            try {
+                for (int i=0; i<files.size(); i++) {
+                    Run run = new Run(i, files.get(i));
+                    try {
+                        if (run.advance()) {
+                            heads.add(run);
+                        }
+                    } catch (IOException ex) {
+                        run.close();
+                        throw ex;
+                    }
+                }
+                if (memoryIndices != null) {
+                    Run run = new MemoryRun(files.size(), memoryIndices);
+                    if (run.advance()) {
+                        heads.add(run);
+                    }
+                }
+            } catch (IOException ex) {
+                closeRuns();
+                throw ex;
+            }
+        }
+
+        @Override
+        public boolean next(EvidenceRecord record) throws IOException {
+            Run run = heads.poll();
+            if (run == null) {
+                return false;
+            }
+            record.copyFrom(run.head);
+            if (run.advance()) {
+                heads.add(run);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            closeRuns();
+            discard();
+        }
+
+        void closeRuns() {
+            for (Run run : heads) {
+                run.close();
+            }
+            heads.clear();
+        }
+    }
+
+    /**
+     * Class Run of package ForensicExpertWitnessReport
+     *
+     * A sorted run on disk, together with the file at its head.
+     *
+     */
+    private static class Run {
+
+        final int number;
+        final EvidenceRecord head = new EvidenceRecord();
+        private final DataInputStream in;
+
+        Run(int number, File file) throws IOException {
+            this.number = number;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+
+        Run(int number) {
+            this.number = number;
+            this.in = null;
+        }
+
+        boolean advance() throws IOException {
+            try {
+                head.readFrom(in);
+                return true;
+            } catch (EOFException ex) {
+                close();
+                return false;
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                Logger.getLogger(EvidenceSorter.class.getName()).log(Level.WARNING, "Unable to close sort run", ex);
+            }
+        }
+    }
+
+    /**
+     * Class MemoryRun of package ForensicExpertWitnessReport
+     *
+     * The files held in memory, in the order of the sorted indices, merged as the last run.
+     *
+     */
+    private class MemoryRun extends Run {
+
+        private final int[] indices;
+        private int position = 0;
+
+        MemoryRun(int number, int[] indices) {
+            super(number);
+            this.indices = indices;
+        }
+
+        @Override
+        boolean advance() {
+            if (position >= indices.length) {
+                return false;
+            }
+            store.read(indices[position++], head);
+            return true;
+        }
+
+        @Override
+        void close() {
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Class EvidenceStore.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to hold the metadata of every tagged file which
+ * is to be reported in a compact, column based store. Every field is kept in its
+ * own array rather than as one object per file: timestamps are kept as primitive
+ * epoch seconds, MD5 hashes as 16 byte values, any other hash value as it was
+ * given, and file paths are split into a
+ * shared parent directory and a leaf name, so that a million tagged files can be
+ * held for sorting, de-duplication and output without a million objects.
+ *
+ * Records are read back through EvidenceRecord, which is re-used between reads.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class EvidenceStore {
+
+    // Declare Instance Variables
+    private static final int HASH_LENGTH = 16;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private int size = 0;
+    private long[] objectIds;
+    private String[] fileNames;
+    private int[] parentPathIds;
+    private String[] leafNames;
+    private byte[] md5hashes;
+    private final BitSet hashed = new BitSet();
+    private String[] otherHashes;
+    private long[] createdTimes;
+    private long[] modifiedTimes;
+    private long[] accessedTimes;
+    private String[] comments;
+    private String[] tagNames;
+    private final List<String> parentPaths = new ArrayList<String>();
+    private final Map<String, Integer> parentPathIndex = new HashMap<String, Integer>();
+    private final Map<String, String> stringPool = new HashMap<String, String>();
+
+    /**
+     * Constructor for objects of class EvidenceStore
+     * First and only Constructor.
+     *
+     * Allocates the columns for the expected amount of records, the columns
+     * grow if more records than expected are added.
+     *
+     * @param expectedSize
+     */
+    EvidenceStore(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        objectIds = new long[capacity];
+        fileNames = new String[capacity];
+        parentPathIds = new int[capacity];
+        leafNames = new String[capacity];
+        md5hashes = new byte[capacity * HASH_LENGTH];
+        otherHashes = new String[capacity];
+        createdTimes = new long[capacity];
+        modifiedTimes = new long[capacity];
+        accessedTimes = new long[capacity];
+        comments = new String[capacity];
+        tagNames = new String[capacity];
+    }
+
+    /**
+     * Add Method
+     * First Mutator Method.
+     *
+     * Appends the metadata of one tagged file to the store.
+     *
+     * @param objectId
+     * @param fileName
+     * @param path
+     * @param md5hash hexadecimal MD5 hash, any other hash value, or null if it has not been calculated
+     * @param comment
+     * @param tagNames the tag names the file was tagged under, or null if not listed
+     * @param createdTime epoch seconds
+     * @param modifiedTime epoch seconds
+     * @param accessedTime epoch seconds
+     * @return the index of the added record
+     */
+    int add(long objectId, String fileName, String path, String md5hash, String comment, String tagNames, long createdTime, long modifiedTime, long accessedTime) {
+
+        // Grow every column together if the store is full
+        if (size == objectIds.length) {
+            grow();
+        }
+
+        objectIds[size] = objectId;
+        fileNames[size] = fileName;
+
+        // Split the path into a shared parent directory and a leaf name
+        int separator = path == null ? -1 : Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        if (separator < 0) {
+            parentPathIds[size] = -1;
+            leafNames[size] = path;
+        } else {
+            parentPathIds[size] = parentPathId(path.substring(0, separator + 1));
+            String leaf = path.substring(separator + 1);
+            leafNames[size] = leaf.equals(fileName) ? fileName : leaf;
+        }
+
+        // Keep the hash as 16 raw bytes, flagging the records which have one, and any value which is not an MD5 hash as it was given
+        if (parseHash(md5hash, md5hashes, size * HASH_LENGTH)) {
+            hashed.set(size);
+            otherHashes[size] = null;
+        } else {
+            hashed.clear(size);
+            otherHashes[size] = md5hash == null || md5hash.isEmpty() ? null : pooled(md5hash);
+        }
+
+        createdTimes[size] = createdTime;
+        modifiedTimes[size] = modifiedTime;
+        accessedTimes[size] = accessedTime;
+
+        // Share identical comments and tag names, as many files are tagged with the same ones
+        comments[size] = comment == null || comment.isEmpty() ? null : pooled(comment);
+        this.tagNames[size] = tagNames == null ? null : pooled(tagNames);
+
+        return size++;
+    }
+
+    /**
+     * Clear Method
+     * Second Mutator Method.
+     *
+     * Empties the store while keeping the allocated columns for re-use.
+     *
+     */
+    void clear() {
+        Arrays.fill(fileNames, 0, size, null);
+        Arrays.fill(leafNames, 0, size, null);
+        Arrays.fill(otherHashes, 0, size, null);
+        Arrays.fill(comments, 0, size, null);
+        Arrays.fill(tagNames, 0, size, null);
+        hashed.clear();
+        parentPaths.clear();
+        parentPathIndex.clear();
+        stringPool.clear();
+        size = 0;
+    }
+
+    /**
+     * Read Method
+     * First Accessor Method.
+     *
+     * Fills the given record with the record at the given index.
+     *
+     * @param index
+     * @param record
+     * @return record
+     */
+    EvidenceRecord read(int index, EvidenceRecord record) {
+        record.objectId = objectIds[index];
+        record.fileName = fileNames[index];
+        record.path = getPath(index);
+        record.parentPath = getParentPath(index);
+        record.md5hash = getMd5Hash(index);
+        record.comment = comments[index];
+        record.tagNames = tagNames[index];
+        record.createdTime = createdTimes[index];
+        record.modifiedTime = modifiedTimes[index];
+        record.accessedTime = accessedTimes[index];
+        return record;
+    }
+
+    /**
+     * Size Method
+     * Second Accessor Method.
+     *
+     * @return the amount of records in the store
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * GetObjectId Method
+     * Third Accessor Method.
+     *
+     * @param index
+     * @return the content object id of the record
+     */
+    long getObjectId(int index) {
+        return objectIds[index];
+    }
+
+    /**
+     * GetFileName Method
+     * Fourth Accessor Method.
+     *
+     * @param index
+     * @return the file name of the record
+     */
+    String getFileName(int index) {
+        return fileNames[index];
+    }
+
+    /**
+     * GetPath Method
+     * Fifth Accessor Method.
+     *
+     * Joins the shared parent directory and the leaf name of the record.
+     *
+     * @param index
+     * @return the full path of the record
+     */
+    String getPath(int index) {
+        if (parentPathIds[index] < 0) {
+            return leafNames[index];
+        }
+        return parentPaths.get(parentPathIds[index]) + leafNames[index];
+    }
+
+    /**
+     * GetParentPath Method
+     * Sixth Accessor Method.
+     *
+     * @param index
+     * @return the parent directory of the record, including its trailing separator
+     */
+    String getParentPath(int index) {
+        if (parentPathIds[index] < 0) {
+            return "";
+        }
+        return parentPaths.get(parentPathIds[index]);
+    }
+
+    /**
+     * GetLeafName Method
+     * Seventh Accessor Method.
+     *
+     * @param index
+     * @return the last element of the path of the record
+     */
+    String getLeafName(int index) {
+        return leafNames[index];
+    }
+
+    /**
+     * GetMd5Hash Method
+     * Eighth Accessor Method.
+     *
+     * @param index
+     * @return the hexadecimal MD5 hash of the record, the hash value as given if it
+     *         is not an MD5 hash, or null if it has not been calculated
+     */
+    String getMd5Hash(int index) {
+        if (!hashed.get(index)) {
+            return otherHashes[index];
+        }
+        char[] hex = new char[HASH_LENGTH * 2];
+        int offset = index * HASH_LENGTH;
+        for (int i=0; i<HASH_LENGTH; i++) {
+            int b = md5hashes[offset + i] & 0xff;
+            hex[i * 2] = HEX[b >>> 4];
+            hex[i * 2 + 1] = HEX[b & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * GetComment Method
+     * Ninth Accessor Method.
+     *
+     * @param index
+     * @return the comment of the record, or null if there is none
+     */
+    String getComment(int index) {
+        return comments[index];
+    }
+
+    /**
+     * GetCreatedTime Method
+     * Tenth Accessor Method.
+     *
+     * @param index
+     * @return the created time of the record in epoch seconds
+     */
+    long getCreatedTime(int index) {
+        return createdTimes[index];
+    }
+
+    /**
+     * GetModifiedTime Method
+     * Eleventh Accessor Method.
+     *
+     * @param index
+     * @return the modified time of the record in epoch seconds
+     */
+    long getModifiedTime(int index) {
+        return modifiedTimes[index];
+    }
+
+    /**
+     * GetAccessedTime Method
+     * Twelfth Accessor Method.
+     *
+     * @param index
+     * @return the accessed time of the record in epoch seconds
+     */
+    long getAccessedTime(int index) {
+        return accessedTimes[index];
+    }
+
+    /**
+     * CompareMd5Hash Method
+     * Thirteenth Accessor Method.
+     *
+     * Compares the hashes of two records as unsigned bytes, followed by the records
+     * with any other hash value, compared as text, and the records without a hash last.
+     *
+     * @param a
+     * @param b
+     * @return a negative number, zero, or a positive number as a is ordered before, with or after b
+     */
+    int compareMd5Hash(int a, int b) {
+        if (!hashed.get(a) || !hashed.get(b)) {
+            int result = hashRank(a) - hashRank(b);
+            if (result == 0 && otherHashes[a] != null) {
+                return otherHashes[a].compareTo(otherHashes[b]);
+            }
+            return result;
+        }
+        for (int i=0; i<HASH_LENGTH; i++) {
+            int result = (md5hashes[a * HASH_LENGTH + i] & 0xff) - (md5hashes[b * HASH_LENGTH + i] & 0xff);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * IsMd5Hash Method
+     * Fourteenth Accessor Method.
+     *
+     * @param hash a hash value read back from the store
+     * @return whether the value was kept as an MD5 hash, rather than as any other hash value
+     */
+    static boolean isMd5Hash(String hash) {
+        if (hash.length() != HASH_LENGTH * 2) {
+            return false;
+        }
+        for (int i=0; i<hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashRank(int index) {
+        return hashed.get(index) ? 0 : otherHashes[index] != null ? 1 : 2;
+    }
+
+    /**
+     * Grow Method
+     * Third Mutator Method.
+     *
+     * Doubles the capacity of every column.
+     *
+     */
+    private void grow() {
+        int capacity = objectIds.length * 2;
+        objectIds = Arrays.copyOf(objectIds, capacity);
+        fileNames = Arrays.copyOf(fileNames, capacity);
+        parentPathIds = Arrays.copyOf(parentPathIds, capacity);
+        leafNames = Arrays.copyOf(leafNames, capacity);
+        md5hashes = Arrays.copyOf(md5hashes, capacity * HASH_LENGTH);
+        otherHashes = Arrays.copyOf(otherHashes, capacity);
+        createdTimes = Arrays.copyOf(createdTimes, capacity);
+        modifiedTimes = Arrays.copyOf(modifiedTimes, capacity);
+        accessedTimes = Arrays.copyOf(accessedTimes, capacity);
+        comments = Arrays.copyOf(comments, capacity);
+        tagNames = Arrays.copyOf(tagNames, capacity);
+    }
+
+    /**
+     * ParentPathId Method
+     * Fourth Mutator Method.
+     *
+     * Returns the id of the given parent directory, adding it to the
+     * shared directories if it has not been seen before.
+     *
+     * @param parentPath
+     * @return id
+     */
+    private int parentPathId(String parentPath) {
+        Integer id = parentPathIndex.get(parentPath);
+        if (id == null) {
+            id = parentPaths.size();
+            parentPaths.add(parentPath);
+            parentPathIndex.put(parentPath, id);
+        }
+        return id;
+    }
+
+    /**
+     * Pooled Method
+     * Fifth Mutator Method.
+     *
+     * Returns the shared instance of the given string, adding it if it has not been seen before.
+     *
+     * @param value
+     * @return pooled
+     */
+    private String pooled(String value) {
+        String pooled = stringPool.get(value);
+        if (pooled == null) {
+            stringPool.put(value, value);
+            pooled = value;
+        }
+        return pooled;
+    }
+
+    /**
+     * ParseHash Method
+     * Sixth Mutator Method.
+     *
+     * Converts a hexadecimal MD5 hash into 16 bytes at the given offset.
+     *
+     * @param md5hash
+     * @param target
+     * @param offset
+     * @return false if the hash is missing or is not a valid MD5 hash
+     */
+    private static boolean parseHash(String md5hash, byte[] target, int offset) {
+        if (md5hash == null || md5hash.length() != HASH_LENGTH * 2) {
+            return false;
+        }
+        for (int i=0; i<HASH_LENGTH; i++) {
+            int high = Character.digit(md5hash.charAt(i * 2), 16);
+            int low = Character.digit(md5hash.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            target[offset + i] = (byte) ((high << 4) | low);
+        }
+        return true;
+    }
+}
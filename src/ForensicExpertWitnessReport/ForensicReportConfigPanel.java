@@ -21,10 +21,13 @@
 
 package ForensicExpertWitnessReport;
 
+import java.awt.Color;
 import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -33,8 +36,8 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.ListCellRenderer;
-import javax.swing.ListModel;
-import javax.swing.event.ListDataListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import org.sleuthkit.autopsy.casemodule.Case;
 import org.sleuthkit.autopsy.coreutils.Logger;
 import org.sleuthkit.datamodel.TagName;
@@ -42,25 +45,31 @@ import org.sleuthkit.datamodel.TskCoreException;
 import javax.swing.JFileChooser;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 
 class ForensicReportConfigPanel extends javax.swing.JPanel {
 
     // Declare Instance Variables
-    private final Map<String, Boolean> tagNameSelections = new LinkedHashMap<String, Boolean>();
     private final TagNamesListModel tagsNamesListModel = new TagNamesListModel();  
     private final TagsNamesListCellRenderer tagsNamesRenderer = new TagsNamesListCellRenderer();
-    private List<TagName> tagNames;
     private static final long serialVersionUID = 1L; 
+    private static final Set<String> extractedDocuments = new HashSet<String>();
     private final Set<String> supported_extentions = new HashSet<String>();
     private final String TemplateOne_name = "Pre-existing Template 1";
     private final String TemplateTwo_name = "Pre-existing Template 2"; 
@@ -70,88 +79,123 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     private XWPFDocument TemplateThree_doc = null; 
     private XWPFDocument inputted_doc = null;
     private XWPFDocument selected_doc = null;
-    private boolean TemplateTwo_extracted = false;
-    private boolean TemplateThree_extracted = false;
     private String inputted_name = "input";
     private String inputted_full_path;
     private String inputted_file_ext;       
     private String selectedDocumentName = TemplateOne_name;
     private String evidenceHeading = "Analysis Evidence";
-    private FileOutputStream fos = null;
-    private File file = null;
-    private File Dir = null;
+    private volatile SwingWorker<XWPFDocument, Void> documentLoader = null;
+    private boolean initialised = false;
     private String colourName = "";
     private String hexadecimalColourCode = "";
     private ArrayList<String> colourNames = new ArrayList<String>();
     private ArrayList<String> hexadecimalColourCodes = new ArrayList<String>();
+    private final ForensicReportSettings settings = new ForensicReportSettings();
+    private final Map<XWPFDocument, HeadingIndex> headingIndexes = Collections.synchronizedMap(new WeakHashMap<XWPFDocument, HeadingIndex>());
+    private int headingCheckGeneration = 0;
     
     /**
      * Constructor for objects of class ForensicReportConfigPanel
      * First and only Constructor.
      * 
-     * Call methods which populate GUI components and display the GUI to the user,
-     * extract the documents from the compiled JAR after NBM installation, and the method
-     * to create the document objects.
+     * Call methods which populate GUI components and display the GUI to the user.
+     * The tag names of the case and the document objects are not retrieved until
+     * the panel is first shown, see addNotify, as Autopsy creates the panel while
+     * building the report wizard even if another report module is then chosen.
      * 
      * Includes Tag Name List Box, Forensic Expert Witness Report ComboBox & File Selector button. 
      */
     ForensicReportConfigPanel() {        
         initComponents();
-        populateTagNameComponents();
         populateForensicReports();
         populateSupportedExtentions();
-        extractDocument("Pre_existing_template_one.docx");
-        createDocuments(null);
+    }
+    
+    /**
+     * AddNotify Method
+     * First Mutator Method.
+     * 
+     * On the panel first being shown, populate the tag name components, extract and
+     * create the document object of Template One and start the job service, which
+     * queues any report jobs left unfinished for this case. The time taken is logged.
+     * 
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (initialised) {
+            return;
+        }
+        initialised = true;
+        long start = System.nanoTime();
+        populateTagNameComponents();
+        loadDocument(TemplateOne_name, "Pre_existing_template_one.docx", getSelectedDocumentPath());
+        ForensicReportJobService.getDefault();
+        Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.INFO, "Forensic Report configuration panel initialised in {0} ms", (System.nanoTime() - start) / 1000000);
     }
         
     /**
      * PopulateTagNameComponents method
-     * First Mutator Method.
+     * Second Mutator Method.
      * 
      * Populates the Tag Name Components to the current tags which are 
      * in use for the current case in Autopsy, as selected and created by
      * the user. Set all of the tag name components in the list box to unselected
      * until the user selects the tags of files in which he wants to include.
      * 
+     * The cells of the list are given a fixed size, measured from the longest tag
+     * name, so that the list only renders the tag names in view rather than
+     * measuring every tag name of the case.
+     * 
      */
     private void populateTagNameComponents() {
         
-        // Get the tag names in use for the current case, using imported Case class.
+        // Get the tag names in use for the current case, using imported Case class, every one unselected
         try {
-            tagNames = Case.getCurrentCase().getServices().getTagsManager().getTagNamesInUse();
+            tagsNamesListModel.setTagNames(Case.getCurrentCase().getServices().getTagsManager().getTagNamesInUse());
         } catch (TskCoreException ex) {
             Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Failed to get tag names", ex);
             JOptionPane.showMessageDialog(null, "Error getting tag names for case.", "Tag Names Not Found", JOptionPane.ERROR_MESSAGE);
         }
-        // Mark the tag names as unselected. Note that tagNameSelections is a
-        // LinkedHashMap so that order is preserved and the tagNames and tagNameSelections
-        // containers are "parallel" containers.
-        for (TagName tagName : tagNames) {
-            tagNameSelections.put(tagName.getDisplayName(), Boolean.FALSE);
-        }
         // Set up the tag names JList component to be a collection of check boxes
-        // for selecting tag names. The mouse click listener updates tagNameSelections
-        // to reflect user choices.
+        // for selecting tag names. The mouse click listener toggles the tag name
+        // clicked to reflect user choices.
         tagNamesListBox.setModel(tagsNamesListModel);
         tagNamesListBox.setCellRenderer(tagsNamesRenderer);
+        tagNamesListBox.setPrototypeCellValue(tagsNamesListModel.getLongestName().isEmpty() ? "Tag Name" : tagsNamesListModel.getLongestName());
         tagNamesListBox.setVisibleRowCount(-1);
         tagNamesListBox.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent evt) {
                 JList<?> list = (JList) evt.getSource();
                 int index = list.locationToIndex(evt.getPoint());
-                if (index > -1) {
-                    String value = tagsNamesListModel.getElementAt(index);
-                    tagNameSelections.put(value, !tagNameSelections.get(value));
-                    list.repaint();
+                if (index > -1 && list.getCellBounds(index, index).contains(evt.getPoint())) {
+                    tagsNamesListModel.toggle(index);
                 }
             }
         });
+        
+        // Show only the tag names containing the search, as it is typed
+        tagNameSearchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent evt) {
+                tagsNamesListModel.setSearch(tagNameSearchField.getText());
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent evt) {
+                tagsNamesListModel.setSearch(tagNameSearchField.getText());
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent evt) {
+            }
+        });
     }
     
     /**
      * PopulateForensicReports method
-     * Second Mutator Method.
+     * Third Mutator Method.
      * 
      * Populate the ComboBox with the names of Forensic Expert Witness Reports,
      * as have been declared earlier in the instance variables.
@@ -166,7 +210,7 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     
     /**
      * InitComponents method
-     * Third Mutator Method.
+     * Fourth Mutator Method.
      * 
      * Set the GUI of every component and display the GUI to the user.
      * 
@@ -176,6 +220,7 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
      * 
      * jLabel
      * jScrollPane
+     * tagNameSearchField
      * tagNamesListBox
      * selectAllButton
      * deselectAllButton 
@@ -190,18 +235,25 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     // Initialize declared instance variables
     jLabel1 = new javax.swing.JLabel();
     jScrollPane1 = new javax.swing.JScrollPane();
+    tagNameSearchField = new javax.swing.JTextField();
     tagNamesListBox = new javax.swing.JList<String>();   
     selectAllButton = new javax.swing.JButton();
     deselectAllButton = new javax.swing.JButton();
     optionsButton = new javax.swing.JButton();
+    advancedButton = new javax.swing.JButton();
+    queueButton = new javax.swing.JButton();
     jLabel2 = new javax.swing.JLabel();
     expertWitnessReportComboBox = new javax.swing.JComboBox<String>();
     chooseExpertWitnessReportButton = new javax.swing.JButton();
     jLabel3 = new javax.swing.JLabel();
     jTextField1 = new javax.swing.JTextField();    
+    headingStatusLabel = new javax.swing.JLabel();
+    loadingProgressBar = new javax.swing.JProgressBar();
 
    org.openide.awt.Mnemonics.setLocalizedText(jLabel1, "Export files tagged as:");
     
+    tagNameSearchField.setToolTipText("Show only the tag names containing this text");
+    
     jScrollPane1.setViewportView(tagNamesListBox);
      
     org.openide.awt.Mnemonics.setLocalizedText(selectAllButton, "Select all");
@@ -225,6 +277,20 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
         }
     });
     
+    org.openide.awt.Mnemonics.setLocalizedText(advancedButton, "Advanced");
+    advancedButton.addActionListener(new java.awt.event.ActionListener() {
+        public void actionPerformed(java.awt.event.ActionEvent evt) {
+            advancedButtonActionPerformed(evt);
+        }
+    });
+    
+    org.openide.awt.Mnemonics.setLocalizedText(queueButton, "Queue");
+    queueButton.addActionListener(new java.awt.event.ActionListener() {
+        public void actionPerformed(java.awt.event.ActionEvent evt) {
+            queueButtonActionPerformed(evt);
+        }
+    });
+    
     org.openide.awt.Mnemonics.setLocalizedText(jLabel2, "Select Forensic Expert Witness Report");
     
     expertWitnessReportComboBox.addActionListener(new java.awt.event.ActionListener() {
@@ -249,6 +315,19 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
             jTextField1KeyReleased(evt);
         }
     });
+    
+    // Check the heading once the user stops typing, rather than on every key
+    headingCheckTimer = new Timer(300, new ActionListener() {
+        @Override
+        public void actionPerformed(ActionEvent evt) {
+            checkHeading();
+        }
+    });
+    headingCheckTimer.setRepeats(false);
+    
+    loadingProgressBar.setIndeterminate(true);
+    loadingProgressBar.setStringPainted(true);
+    loadingProgressBar.setVisible(false);
  
     javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
@@ -262,6 +341,7 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING, false)
                             .addComponent(jTextField1, javax.swing.GroupLayout.Alignment.TRAILING)
+                            .addComponent(headingStatusLabel, javax.swing.GroupLayout.Alignment.TRAILING, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                             .addComponent(jLabel3, javax.swing.GroupLayout.Alignment.TRAILING, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)))
                     .addGroup(layout.createSequentialGroup()
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -271,12 +351,18 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
                                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING, false)
                                     .addComponent(selectAllButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                     .addComponent(deselectAllButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
-                                    .addComponent(optionsButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)))
-                            .addComponent(jLabel1)
+                                    .addComponent(optionsButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                                    .addComponent(advancedButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                                    .addComponent(queueButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)))
+                            .addGroup(layout.createSequentialGroup()
+                                .addComponent(jLabel1)
+                                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                                .addComponent(tagNameSearchField, javax.swing.GroupLayout.PREFERRED_SIZE, 160, javax.swing.GroupLayout.PREFERRED_SIZE))
                             .addGroup(layout.createSequentialGroup()
                                 .addComponent(chooseExpertWitnessReportButton)
                                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
-                                .addComponent(expertWitnessReportComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 162, javax.swing.GroupLayout.PREFERRED_SIZE)))
+                                .addComponent(expertWitnessReportComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 162, javax.swing.GroupLayout.PREFERRED_SIZE))
+                            .addComponent(loadingProgressBar, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
                         .addGap(0, 0, Short.MAX_VALUE)))
                 .addContainerGap())
         );
@@ -284,7 +370,9 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(layout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(jLabel1)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel1)
+                    .addComponent(tagNameSearchField, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addGap(8, 8, 8)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addGroup(layout.createSequentialGroup()
@@ -292,7 +380,11 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(deselectAllButton)
                         .addGap(18, 18, 18)
-                        .addComponent(optionsButton))
+                        .addComponent(optionsButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(advancedButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(queueButton))
                     .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 106, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -300,47 +392,47 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
                     .addComponent(jLabel2))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-                    .addComponent(jTextField1, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
-                        .addComponent(expertWitnessReportComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
-                        .addComponent(chooseExpertWitnessReportButton)))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(jTextField1, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(headingStatusLabel))
+                    .addGroup(layout.createSequentialGroup()
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                            .addComponent(expertWitnessReportComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(chooseExpertWitnessReportButton))
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(loadingProgressBar)))
                 .addContainerGap())
         );
     }
     
     /**
      * SelectAllButtonActionPerformed method
-     * Fourth Mutator Method.
+     * Fifth Mutator Method.
      * 
-     * On button pressed, for each tag name in the case, set it to selected.
+     * On button pressed, for each tag name shown, set it to selected.
      * 
      * @param evt 
      */
     private void selectAllButtonActionPerformed(java.awt.event.ActionEvent evt) {
-        for (TagName tagName : tagNames) {
-            tagNameSelections.put(tagName.getDisplayName(), Boolean.TRUE);
-        }
-        tagNamesListBox.repaint();
+        tagsNamesListModel.setShownSelected(true);
     }//GEN-LAST:event_selectAllButtonActionPerformed 
  
     /**
      * DeselectAllButtonActionPerformed Method
-     * Fifth Mutator Method.
+     * Sixth Mutator Method.
      * 
-     * On button pressed, for each tag name in the case, set it to un-selected.
+     * On button pressed, for each tag name shown, set it to un-selected.
      * 
      * @param evt 
      */
     private void deselectAllButtonActionPerformed(java.awt.event.ActionEvent evt) {
-        for (TagName tagName : tagNames) {
-            tagNameSelections.put(tagName.getDisplayName(), Boolean.FALSE);
-        }
-        tagNamesListBox.repaint();
+        tagsNamesListModel.setShownSelected(false);
     }//GEN-LAST:event_deselectAllButtonActionPerformed
     
     /**
      * OptionsButtonActionPerformed Method
-     * Sixth Mutator Method.
+     * Seventh Mutator Method.
      * 
      * On button pressed, load the options panel.
      * 
@@ -363,9 +455,37 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
         }
     }
     
+    /**
+     * AdvancedButtonActionPerformed Method
+     * Eighth Mutator Method.
+     * 
+     * On button pressed, load the advanced settings panel.
+     * 
+     * @param evt 
+     */
+    private void advancedButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        ForensicReportConfigPanelAdvanced advancedPanel = new ForensicReportConfigPanelAdvanced(settings);
+        if (JOptionPane.showConfirmDialog(null, advancedPanel, "Forensic Expert Witness Report Advanced Settings", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION) {
+            advancedPanel.store();
+        }
+    }
+    
+    /**
+     * QueueButtonActionPerformed method
+     * Ninth Mutator Method.
+     * 
+     * Display the report queue, where the current configuration can be queued
+     * to be generated in the background.
+     * 
+     * @param evt
+     */
+    private void queueButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        JOptionPane.showMessageDialog(null, new ForensicReportJobsPanel(this), "Forensic Expert Witness Report Queue", JOptionPane.PLAIN_MESSAGE);
+    }
+    
     /**
      * ExpertWitnessReportComboBoxActionPerformed Method
-     * Seventh Mutator Method.
+     * Tenth Mutator Method.
      * 
      * On Combo Box user selection, set the selected item to an instance variable,
      * update the evidence heading or sub-heading text field with the matching
@@ -382,22 +502,18 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
             selected_doc = TemplateOne_doc;
         }
         if (TemplateTwo_name.equals(selectedDocumentName)) {
-            if(!TemplateTwo_extracted) {
-                extractDocument("Pre_existing_template_two.docx");
-                TemplateTwo_extracted = true;
-                createDocuments(null);
-                selected_doc = TemplateTwo_doc;
+            if (TemplateTwo_doc == null) {
+                loadDocument(TemplateTwo_name, "Pre_existing_template_two.docx", getSelectedDocumentPath());
             }
+            selected_doc = TemplateTwo_doc;
             jTextField1.setText("Analysis Evidence");
             evidenceHeading = "Analysis Evidence";
         }
         if (TemplateThree_name.equals(selectedDocumentName)) {
-            if(!TemplateThree_extracted) {                
-                extractDocument("Pre_existing_template_three.docx");
-                TemplateThree_extracted = true;
-                createDocuments(null);
-                selected_doc = TemplateThree_doc;
+            if (TemplateThree_doc == null) {
+                loadDocument(TemplateThree_name, "Pre_existing_template_three.docx", getSelectedDocumentPath());
             }
+            selected_doc = TemplateThree_doc;
             jTextField1.setText("Section 2 - Evidence");
             evidenceHeading = "Section 2 - Evidence";
         }
@@ -406,14 +522,18 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
                 jTextField1.setText("Enter a heading");
                 evidenceHeading = "";
                 selected_doc = inputted_doc;
+                if (inputted_doc == null) {
+                    loadDocument(inputted_name, null, inputted_full_path);
+                }
             }
         }
+        checkHeading();
     
     }//GEN-LAST:event_hashSetsComboBoxActionPerformed
 
     /**
      * ChooseExpertWitnessReportButtonActionPerformed Method
-     * Eighth Mutator Method.
+     * Eleventh Mutator Method.
      * 
      * On Choose File button selected, declare JFileChooser and show
      * the file chooser to the user. Set the selected files and it's
@@ -438,7 +558,7 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
             if (supported_extentions.contains(inputted_file_ext.toLowerCase()))
             {
                 populateForensicReports();
-                createDocuments(inputted_full_path);
+                inputted_doc = null;
                 expertWitnessReportComboBox.addItem(inputted_name); 
                 expertWitnessReportComboBox.setSelectedIndex(3);
             }            
@@ -448,107 +568,232 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     
     /**
      * JTextField1KeyReleased Method
-     * Ninth Mutator Method.
+     * Twelfth Mutator Method.
      * 
-     * On key release, set the inputted text to an instance variable.
+     * On key release, set the inputted text to an instance variable, and check
+     * the heading against the selected document once the user stops typing.
      * 
      * @param evt 
      */
      private void jTextField1KeyReleased(java.awt.event.KeyEvent evt) {//GEN-FIRST:event_jTextField1KeyReleased
          evidenceHeading = jTextField1.getText();
+         headingCheckTimer.restart();
      }//GEN-LAST:event_jTextField1KeyReleased
     
     /**
-     * CreateDocuments
-     * Tenth Mutator Method.
+     * CheckHeading Method
+     * Thirteenth Mutator Method.
      * 
-     * Creates Document Objects for Forensic Expert Witness Reports
+     * Counts the paragraphs of the selected document which contain the evidence
+     * heading on a background thread, using the HeadingIndex of the document, and
+     * shows whether the heading was found once, not found or found several times.
+     * Only the result of the latest check is shown.
      * 
-     * @param inputted 
      */
-    private void createDocuments(String inputdoc) {
-        try {
-            TemplateOne_doc = new XWPFDocument(new FileInputStream(System.getProperty("user.home") + "\\.ForensicReportModule\\Pre_existing_template_one.docx"));
-            if (TemplateTwo_extracted) {
-                TemplateTwo_doc = new XWPFDocument(new FileInputStream(System.getProperty("user.home") + "\\.ForensicReportModule\\Pre_existing_template_two.docx"));
+    private void checkHeading() {
+        final String heading = evidenceHeading;
+        final XWPFDocument document = getSelectedDocument();
+        final int generation = ++headingCheckGeneration;
+        
+        // Account for false user inputs without searching the document
+        if (heading == null || heading.length() < 3) {
+            setHeadingStatus("Evidence headings must be 3 characters or longer.", false);
+            return;
+        }
+        if (document == null || (documentLoader != null && !documentLoader.isDone())) {
+            setHeadingStatus("", true);
+            return;
+        }
+        
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                HeadingIndex headingIndex = headingIndexes.get(document);
+                if (headingIndex == null) {
+                    headingIndex = new HeadingIndex(document);
+                    headingIndexes.put(document, headingIndex);
+                }
+                return headingIndex.count(heading);
             }
-            if (TemplateThree_extracted) {
-                TemplateThree_doc = new XWPFDocument(new FileInputStream(System.getProperty("user.home") + "\\.ForensicReportModule\\Pre_existing_template_three.docx"));
+            
+            @Override
+            protected void done() {
+                if (generation != headingCheckGeneration) {
+                    return;
+                }
+                try {
+                    int matches = get();
+                    if (matches == 1) {
+                        setHeadingStatus("Evidence heading found once.", true);
+                    } else if (matches == 0) {
+                        setHeadingStatus("Unable to find evidence heading.", false);
+                    } else {
+                        setHeadingStatus("Evidence heading found " + matches + " times, headings must be unique.", false);
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.WARNING, "Failed to check evidence heading", ex);
+                    setHeadingStatus("", true);
+                }
             }
-            if (inputdoc != null && !inputdoc.isEmpty()) {
-                inputted_doc = new XWPFDocument(new FileInputStream(inputdoc));
+        }.execute();
+    }
+    
+    /**
+     * SetHeadingStatus Method
+     * Fourteenth Mutator Method.
+     * 
+     * @param status
+     * @param valid whether the heading can be reported into
+     */
+    private void setHeadingStatus(String status, boolean valid) {
+        headingStatusLabel.setForeground(valid ? new Color(0, 128, 0) : Color.RED);
+        headingStatusLabel.setText(status);
+    }
+    
+    /**
+     * LoadDocument
+     * Fifteenth Mutator Method.
+     * 
+     * Extracts and creates the Document Object for a Forensic Expert Witness Report
+     * on a background thread, showing the loading bar until it is ready. The text
+     * of the document is indexed for the evidence heading check at the same time.
+     * 
+     * @param documentName the name of the document in the ComboBox
+     * @param resource the template to extract from the JAR package, or null for an inputted document
+     * @param path the path of the document on disk
+     */
+    private void loadDocument(final String documentName, final String resource, final String path) {
+        setDocumentLoading(documentName);
+        documentLoader = new SwingWorker<XWPFDocument, Void>() {
+            @Override
+            protected XWPFDocument doInBackground() throws IOException {
+                if (resource != null) {
+                    extractDocument(resource);
+                }
+                XWPFDocument document;
+                try (InputStream in = new FileInputStream(path)) {
+                    document = new XWPFDocument(in);
+                }
+                headingIndexes.put(document, new HeadingIndex(document));
+                return document;
             }
-        }
-        catch(IOException e){
-            Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Failed to create document objects", e);
-            JOptionPane.showMessageDialog(null, "Document object error", "Failed to create document objects", JOptionPane.ERROR_MESSAGE);
-        }
-    } 
+            
+            @Override
+            protected void done() {
+                try {
+                    XWPFDocument document = get();
+                    if (TemplateOne_name.equals(documentName)) {
+                        TemplateOne_doc = document;
+                    } else if (TemplateTwo_name.equals(documentName)) {
+                        TemplateTwo_doc = document;
+                    } else if (TemplateThree_name.equals(documentName)) {
+                        TemplateThree_doc = document;
+                    } else {
+                        inputted_doc = document;
+                    }
+                    if (documentName.equals(selectedDocumentName)) {
+                        selected_doc = document;
+                    }
+                }
+                catch (InterruptedException | ExecutionException e) {
+                    Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Failed to create document objects", e);
+                    JOptionPane.showMessageDialog(null, "Document object error", "Failed to create document objects", JOptionPane.ERROR_MESSAGE);
+                }
+                setDocumentLoaded();
+                checkHeading();
+            }
+        };
+        documentLoader.execute();
+    }
+    
+    /**
+     * SetDocumentLoading Method
+     * Sixteenth Mutator Method.
+     * 
+     * Shows the loading bar, and disables choosing or queueing another document until the document is ready.
+     * 
+     * @param documentName 
+     */
+    private void setDocumentLoading(String documentName) {
+        loadingProgressBar.setString("Loading " + documentName + "...");
+        loadingProgressBar.setVisible(true);
+        expertWitnessReportComboBox.setEnabled(false);
+        chooseExpertWitnessReportButton.setEnabled(false);
+        queueButton.setEnabled(false);
+        headingStatusLabel.setText("");
+    }
+    
+    /**
+     * SetDocumentLoaded Method
+     * Seventeenth Mutator Method.
+     * 
+     * Hides the loading bar, and enables choosing or queueing documents again.
+     * 
+     */
+    private void setDocumentLoaded() {
+        loadingProgressBar.setVisible(false);
+        expertWitnessReportComboBox.setEnabled(true);
+        chooseExpertWitnessReportButton.setEnabled(true);
+        queueButton.setEnabled(true);
+    }
     
     /**
      * ExtractDocument
-     * Eleventh Mutator Method.
+     * Eighteenth Mutator Method.
      * 
-     * Extracts Pre-Existing Templates from NetBeans/JAR Package into the User Home Directory.
+     * Extracts Pre-Existing Templates from NetBeans/JAR Package into the User Home Directory,
+     * streaming the template to disk rather than reading it into memory.
+     * 
+     * A template is extracted once a session, as queued report jobs read it from the
+     * same path. It is streamed to a temporary file beside it and then moved over it
+     * in one step, so that a job never reads a template which is partly written.
      * 
      * @param inputted 
      */
     private void extractDocument(String document) {
-        try {
-            // Declare InputStream object as the document from the Java package / compiled JAR
-            InputStream in = getClass().getResourceAsStream(document);
+        synchronized (extractedDocuments) {
             
             // Create new file object as Dir, set to user home / .ForensicReportModule Directory
-            String dir = System.getProperty("user.home") + "\\.ForensicReportModule";
-            Dir = new File(dir);
-            
-            // If directory doesn't exist, create it
-            if (!Dir.exists()) {
-                try{
-                    Dir.mkdir();
-                } 
-                catch(SecurityException se){
-                    Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Error creating folder " +Dir, se);
-                }        
+            Path Dir = Paths.get(System.getProperty("user.home"), ".ForensicReportModule");
+            Path target = Dir.resolve(document);
+            if (extractedDocuments.contains(document) && Files.isRegularFile(target)) {
+                return;
             }
-            
-            // Declare new file object, set to User home / .ForensicReportModule Directory + document           
-            file = new File(dir + "\\" +document);
-            
-            // Create new FileOutputStream object as the created file object
-            fos = new FileOutputStream(file);
-
-            //If the file doesn't exist, create the file
-	    if (!file.exists()) {
-                file.createNewFile();
-            }
-
-            // Convert InputStream object / document to bytesArray
-            byte[] bytesArray = IOUtils.toByteArray(in);
-
-            // Write the bytesArray to the created file
-            fos.write(bytesArray);
-            fos.flush();            
-        } 
-        catch (IOException ioe) {
-            Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Error extracting " +document + " from JAR package", ioe);
-        } 
-        finally {
+            Path partial = null;
             try {
-                if (fos != null) 
-                {
-                    fos.close();
+                // If directory doesn't exist, create it
+                Files.createDirectories(Dir);
+                
+                // Copy the document from the Java package / compiled JAR to a temporary file, then move it to User home / .ForensicReportModule Directory + document
+                partial = Files.createTempFile(Dir, "template", ".part");
+                try (InputStream in = getClass().getResourceAsStream(document)) {
+                    Files.copy(in, partial, StandardCopyOption.REPLACE_EXISTING);
                 }
+                try {
+                    Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                extractedDocuments.add(document);
+            } 
+            catch (IOException | SecurityException ex) {
+                Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Error extracting " +document + " from JAR package", ex);
             }
-            catch (IOException ioe) {
-                System.out.println("Error in closing the Stream");
+            finally {
+                if (partial != null) {
+                    try {
+                        Files.deleteIfExists(partial);
+                    } catch (IOException ex) {
+                        Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.WARNING, "Unable to remove " + partial, ex);
+                    }
+                }
             }
         }
     }
     
     /**
      * PopulateSupportedExtentions
-     * Twelfth Mutator Method.
+     * Nineteenth Mutator Method.
      * 
      * Add supported forensic expert witness report file extensions
      * 
@@ -642,18 +887,13 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
      * GetSelectedTagNames Method
      * Sixth Accessor Method.
      * 
-     * Returns the user selected tag names for files he wishes to extract.
+     * Returns the user selected tag names for files he wishes to extract,
+     * whether or not they are shown by the search.
      * 
      * @return selectedTagNames
      */
     public List<TagName> getSelectedTagNames() {
-        List<TagName> selectedTagNames = new ArrayList<TagName>();
-        for (TagName tagName : tagNames) {
-            if (tagNameSelections.get(tagName.getDisplayName())) {
-                selectedTagNames.add(tagName);
-            }
-        }
-        return selectedTagNames;
+        return tagsNamesListModel.getSelectedTagNames();
     }
     
      /**
@@ -687,42 +927,89 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
         return "000000";
 
     }
-        
+    
     /**
-     * Class TagNamesListModel of package ForensicReport
+     * GetSettings Method
+     * Eighth Accessor Method.
      * 
-     * Created in order to manage tag names provided by Autopsy in the
-     * current case, and selected by the user in the GUI. Implements
-     * ListModel.
+     * Return the advanced settings chosen by the user.
      * 
+     * @return settings
      */
-    private class TagNamesListModel implements ListModel<String> {
-
-        @Override
-        public int getSize() {
-            return tagNames.size();
-        }
-	
-	@Override
-        public String getElementAt(int index) {
-            return tagNames.get(index).getDisplayName();
+    public ForensicReportSettings getSettings() {
+        return settings;
+    }
+    
+    /**
+     * GetSelectedDocumentPath Method
+     * Ninth Accessor Method.
+     * 
+     * Return the path of the selected forensic expert witness report on disk,
+     * so that every report can open its own copy of the document.
+     * 
+     * @return inputted_full_path
+     * @return the path of the extracted template
+     */
+    public String getSelectedDocumentPath() {
+        Path dir = Paths.get(System.getProperty("user.home"), ".ForensicReportModule");
+        if (selectedDocumentName.equals(inputted_name)) {
+            return inputted_full_path;
         }
-	
-	@Override
-        public void addListDataListener(ListDataListener l) {
+        if (selectedDocumentName.equals(TemplateTwo_name)) {
+            return dir.resolve("Pre_existing_template_two.docx").toString();
         }
-	
-	@Override
-        public void removeListDataListener(ListDataListener l) {
+        if (selectedDocumentName.equals(TemplateThree_name)) {
+            return dir.resolve("Pre_existing_template_three.docx").toString();
         }
+        return dir.resolve("Pre_existing_template_one.docx").toString();
+    }
     
+    /**
+     * AwaitSelectedDocument Method
+     * Tenth Accessor Method.
+     * 
+     * Waits until the selected forensic expert witness report has been extracted
+     * and loaded, so that a report is never generated from a document which is
+     * still being written to disk. Loading starts when the panel is first shown.
+     * 
+     */
+    void awaitSelectedDocument() {
+        SwingWorker<XWPFDocument, Void> loader = documentLoader;
+        if (loader != null) {
+            try {
+                loader.get();
+            } catch (InterruptedException | ExecutionException e) {
+                Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.WARNING, "Selected document was not loaded", e);
+            }
+        }
     }
     
+    /**
+     * NewReportJob Method
+     * Eleventh Accessor Method.
+     * 
+     * Return a job holding the current configuration, to be queued in the
+     * ForensicReportJobService.
+     * 
+     * @param priority
+     * @return job
+     */
+    ForensicReportJob newReportJob(int priority) {
+        List<String> tagNames = new ArrayList<String>();
+        for (TagName tagName : getSelectedTagNames()) {
+            tagNames.add(tagName.getDisplayName());
+        }
+        return new ForensicReportJob(priority, Case.getCurrentCase().getCaseDirectory(), ForensicReportJobService.newReportDirectory(),
+                getSelectedDocumentPath(), getSelectedDocumentName(), getEvidenceHeading(), getFileExtension(), getTableColour(),
+                Template_1_or_2_isSelected(), tagNames, settings);
+    }
+        
     /**
      * Class TagsNamesListCellRenderer of package ForensicReport
      * 
      * Created in order to render the items in the tag names JList component
-     * as JCheckbox components. Extends JCheckBox, Implements ListCellRenderer.
+     * as JCheckbox components, checked if the tag name is selected in the
+     * TagNamesListModel. Extends JCheckBox, Implements ListCellRenderer.
      * 
      */
     private class TagsNamesListCellRenderer extends JCheckBox implements ListCellRenderer<String> {
@@ -732,7 +1019,9 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
         public Component getListCellRendererComponent(JList<? extends String> list, String value, int index, boolean isSelected, boolean cellHasFocus) {
             if (value != null) {
                 setEnabled(list.isEnabled());
-                setSelected(tagNameSelections.get(value));
+                
+                // The prototype cell, measuring the cells of the list, has no index
+                setSelected(index > -1 && tagsNamesListModel.isSelected(index));
                 setFont(list.getFont());
                 setBackground(list.getBackground());
                 setForeground(list.getForeground());
@@ -746,8 +1035,11 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     // GUI Variables declaration //GEN-BEGIN:variables    
     private javax.swing.JLabel jLabel1;
     private javax.swing.JScrollPane jScrollPane1;   
+    private javax.swing.JTextField tagNameSearchField;
     private javax.swing.JList<String> tagNamesListBox = new JList<String>();
     private javax.swing.JButton optionsButton;
+    private javax.swing.JButton advancedButton;
+    private javax.swing.JButton queueButton;
     private javax.swing.JButton selectAllButton;
     private javax.swing.JButton deselectAllButton;
     private javax.swing.JLabel jLabel2;
@@ -755,6 +1047,9 @@ class ForensicReportConfigPanel extends javax.swing.JPanel {
     private javax.swing.JButton chooseExpertWitnessReportButton;
     private javax.swing.JTextField jTextField1;
     private javax.swing.JLabel jLabel3;
+    private javax.swing.JLabel headingStatusLabel;
+    private Timer headingCheckTimer;
+    private javax.swing.JProgressBar loadingProgressBar;
     // End of variables declaration//GEN-END:variables    
     
 }
@@ -0,0 +1,390 @@
+/*
+ * Class ForensicReportConfigPanelAdvanced.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to display a graphical user interface (GUI) which
+ * allows the user to choose how the tagged evidence is added into the forensic
+ * expert witness report, such as the order of the evidence tables, whether
+ * they are grouped by parent directory, whether files tagged under several
+ * tag names are only added once, whether tagged results are added, which
+ * fields are shown in the tables, when a report starts using less memory, how
+ * many megabytes of images may be added into a report, how many worker processes
+ * build the tables and which other cases,
+ * such as those of the other devices seized in an investigation, the tagged
+ * evidence is also added from.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.DefaultListModel;
+import javax.swing.JCheckBox;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.SpinnerNumberModel;
+
+class ForensicReportConfigPanelAdvanced extends javax.swing.JPanel {
+
+    // Declare Instance Variables
+    private static final long serialVersionUID = 1L;
+    private final ForensicReportSettings settings;
+
+    /**
+     * Constructor for objects of class ForensicReportConfigPanelAdvanced
+     * First and only Constructor.
+     *
+     * Display the GUI to the user, showing the given settings.
+     *
+     * @param settings
+     */
+    ForensicReportConfigPanelAdvanced(ForensicReportSettings settings) {
+        this.settings = settings;
+        initComponents();
+        load();
+    }
+
+    /**
+     * InitComponents method
+     * First Mutator Method.
+     *
+     * Set the GUI of every component and display the GUI to the user.
+     *
+     * Includes the following:
+     *
+     * orderLabel
+     * orderComboBox
+     * groupByParentCheckBox
+     * sortThresholdLabel
+     * sortThresholdSpinner
+     * heapThresholdLabel
+     * heapThresholdSpinner
+     * imageBudgetLabel
+     * imageBudgetSpinner
+     * workerProcessesLabel
+     * workerProcessesSpinner
+     * fragmentCacheLabel
+     * fragmentCacheSpinner
+     * workspaceBudgetLabel
+     * workspaceBudgetSpinner
+     * reportFilesOnceCheckBox
+     * includeArtifactTagsCheckBox
+     * fieldsLabel
+     * fieldCheckBoxes
+     * otherCasesLabel
+     * otherCasesList
+     * addCaseButton
+     * removeCaseButton
+     */
+    private void initComponents() {
+
+        orderLabel = new javax.swing.JLabel();
+        orderComboBox = new javax.swing.JComboBox<EvidenceOrder>(EvidenceOrder.values());
+        groupByParentCheckBox = new javax.swing.JCheckBox();
+        sortThresholdLabel = new javax.swing.JLabel();
+        sortThresholdSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(100000, 1000, 10000000, 1000));
+        heapThresholdLabel = new javax.swing.JLabel();
+        heapThresholdSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(80, 10, 100, 5));
+        imageBudgetLabel = new javax.swing.JLabel();
+        imageBudgetSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(512, 0, 65536, 64));
+        workerProcessesLabel = new javax.swing.JLabel();
+        workerProcessesSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(0, 0, 64, 1));
+        fragmentCacheLabel = new javax.swing.JLabel();
+        fragmentCacheSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(0, 0, 65536, 64));
+        workspaceBudgetLabel = new javax.swing.JLabel();
+        workspaceBudgetSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(4096, 0, 1048576, 512));
+        reportFilesOnceCheckBox = new javax.swing.JCheckBox();
+        includeArtifactTagsCheckBox = new javax.swing.JCheckBox();
+        fieldsLabel = new javax.swing.JLabel();
+        for (EvidenceField field : EvidenceField.values()) {
+            fieldCheckBoxes.put(field, new JCheckBox(field.toString()));
+        }
+        otherCasesLabel = new javax.swing.JLabel();
+        otherCasesList = new javax.swing.JList<String>(otherCases);
+        otherCasesScrollPane = new javax.swing.JScrollPane(otherCasesList);
+        addCaseButton = new javax.swing.JButton();
+        removeCaseButton = new javax.swing.JButton();
+
+        orderLabel.setText("Order evidence by:");
+        groupByParentCheckBox.setText("Group evidence by parent directory");
+        sortThresholdLabel.setText("Files sorted in memory before sorting on disk:");
+        heapThresholdLabel.setText("Use less memory once the heap is this full (%):");
+        imageBudgetLabel.setText("Images added to the report, at most (MB):");
+        workerProcessesLabel.setText("Processes building the tables, 0 to build them in Autopsy:");
+        fragmentCacheLabel.setText("Tables kept for the next report, at most (MB):");
+        workspaceBudgetLabel.setText("Scratch space for sorting on disk, 0 for no limit (MB):");
+        reportFilesOnceCheckBox.setText("Add files tagged under several tag names only once");
+        includeArtifactTagsCheckBox.setText("Add tagged results, such as keyword hits, web history and messages");
+        fieldsLabel.setText("Fields shown in the evidence tables:");
+        otherCasesLabel.setText("Also add the tagged evidence of these single-user cases:");
+        otherCasesList.setVisibleRowCount(4);
+        addCaseButton.setText("Add Case...");
+        addCaseButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                addCaseButtonActionPerformed(evt);
+            }
+        });
+        removeCaseButton.setText("Remove");
+        removeCaseButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                removeCaseButtonActionPerformed(evt);
+            }
+        });
+
+        // Lay the field check boxes out in rows of three
+        EvidenceField[] fields = EvidenceField.values();
+        int columns = 3;
+
+        javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
+        this.setLayout(layout);
+        javax.swing.GroupLayout.SequentialGroup fieldColumns = layout.createSequentialGroup();
+        for (int column=0; column<columns; column++) {
+            javax.swing.GroupLayout.ParallelGroup fieldColumn = layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING);
+            for (int i=column; i<fields.length; i+=columns) {
+                fieldColumn.addComponent(fieldCheckBoxes.get(fields[i]));
+            }
+            fieldColumns.addGroup(fieldColumn);
+        }
+        javax.swing.GroupLayout.SequentialGroup fieldRows = layout.createSequentialGroup();
+        for (int row=0; row<fields.length; row+=columns) {
+            javax.swing.GroupLayout.ParallelGroup fieldRow = layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE);
+            for (int i=row; i<Math.min(row + columns, fields.length); i++) {
+                fieldRow.addComponent(fieldCheckBoxes.get(fields[i]));
+            }
+            fieldRows.addGroup(fieldRow);
+        }
+        layout.setHorizontalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(orderLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(orderComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(groupByParentCheckBox)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(sortThresholdLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(sortThresholdSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(heapThresholdLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(heapThresholdSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(imageBudgetLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(imageBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(workerProcessesLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(workerProcessesSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(fragmentCacheLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(fragmentCacheSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(workspaceBudgetLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(workspaceBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(reportFilesOnceCheckBox)
+                    .addComponent(includeArtifactTagsCheckBox)
+                    .addComponent(fieldsLabel)
+                    .addGroup(fieldColumns)
+                    .addComponent(otherCasesLabel)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(otherCasesScrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, 360, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING, false)
+                            .addComponent(addCaseButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                            .addComponent(removeCaseButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+        layout.setVerticalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(orderLabel)
+                    .addComponent(orderComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(groupByParentCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(sortThresholdLabel)
+                    .addComponent(sortThresholdSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(heapThresholdLabel)
+                    .addComponent(heapThresholdSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(imageBudgetLabel)
+                    .addComponent(imageBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(workerProcessesLabel)
+                    .addComponent(workerProcessesSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(fragmentCacheLabel)
+                    .addComponent(fragmentCacheSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(workspaceBudgetLabel)
+                    .addComponent(workspaceBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(reportFilesOnceCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(includeArtifactTagsCheckBox)
+                .addGap(18, 18, 18)
+                .addComponent(fieldsLabel)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(fieldRows)
+                .addGap(18, 18, 18)
+                .addComponent(otherCasesLabel)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(otherCasesScrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, 80, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(addCaseButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(removeCaseButton)))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+    }
+
+    /**
+     * Load method
+     * Second Mutator Method.
+     *
+     * Set every component to the current settings.
+     *
+     */
+    void load() {
+        orderComboBox.setSelectedItem(settings.getEvidenceOrder());
+        groupByParentCheckBox.setSelected(settings.isGroupByParent());
+        sortThresholdSpinner.setValue(settings.getSortMemoryThreshold());
+        heapThresholdSpinner.setValue(settings.getHeapThreshold());
+        imageBudgetSpinner.setValue(settings.getImageBudget());
+        workerProcessesSpinner.setValue(settings.getWorkerProcesses());
+        fragmentCacheSpinner.setValue(settings.getFragmentCacheSize());
+        workspaceBudgetSpinner.setValue(settings.getWorkspaceBudget());
+        reportFilesOnceCheckBox.setSelected(settings.isReportFilesOnce());
+        includeArtifactTagsCheckBox.setSelected(settings.isIncludeArtifactTags());
+        Set<EvidenceField> fields = settings.getFields();
+        for (Map.Entry<EvidenceField, JCheckBox> fieldCheckBox : fieldCheckBoxes.entrySet()) {
+            fieldCheckBox.getValue().setSelected(fields.contains(fieldCheckBox.getKey()));
+        }
+        otherCases.clear();
+        for (String caseDirectory : settings.getOtherCases()) {
+            otherCases.addElement(caseDirectory);
+        }
+    }
+
+    /**
+     * Store method
+     * Third Mutator Method.
+     *
+     * Store the user selections into the settings.
+     *
+     */
+    void store() {
+        settings.setEvidenceOrder((EvidenceOrder) orderComboBox.getSelectedItem());
+        settings.setGroupByParent(groupByParentCheckBox.isSelected());
+        settings.setSortMemoryThreshold((Integer) sortThresholdSpinner.getValue());
+        settings.setHeapThreshold((Integer) heapThresholdSpinner.getValue());
+        settings.setImageBudget((Integer) imageBudgetSpinner.getValue());
+        settings.setWorkerProcesses((Integer) workerProcessesSpinner.getValue());
+        settings.setFragmentCacheSize((Integer) fragmentCacheSpinner.getValue());
+        settings.setWorkspaceBudget((Integer) workspaceBudgetSpinner.getValue());
+        settings.setReportFilesOnce(reportFilesOnceCheckBox.isSelected());
+        settings.setIncludeArtifactTags(includeArtifactTagsCheckBox.isSelected());
+        Set<EvidenceField> fields = EnumSet.noneOf(EvidenceField.class);
+        for (Map.Entry<EvidenceField, JCheckBox> fieldCheckBox : fieldCheckBoxes.entrySet()) {
+            if (fieldCheckBox.getValue().isSelected()) {
+                fields.add(fieldCheckBox.getKey());
+            }
+        }
+        settings.setFields(fields);
+        List<String> caseDirectories = new ArrayList<String>();
+        for (int i=0; i<otherCases.size(); i++) {
+            caseDirectories.add(otherCases.get(i));
+        }
+        settings.setOtherCases(caseDirectories);
+    }
+
+    /**
+     * AddCaseButtonActionPerformed Method
+     * Fourth Mutator Method.
+     *
+     * On Add Case button selected, let the user choose the directory of another
+     * case, which is added if it holds the database of a single-user case.
+     *
+     * @param evt
+     */
+    private void addCaseButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File caseDirectory = fileChooser.getSelectedFile();
+        if (!new File(caseDirectory, EvidenceCase.CASE_DATABASE).isFile()) {
+            JOptionPane.showMessageDialog(this, caseDirectory.getName() + " is not the directory of a single-user case, as it has no " + EvidenceCase.CASE_DATABASE + ".", "Forensic Report", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (!otherCases.contains(caseDirectory.getAbsolutePath())) {
+            otherCases.addElement(caseDirectory.getAbsolutePath());
+        }
+    }
+
+    /**
+     * RemoveCaseButtonActionPerformed Method
+     * Fifth Mutator Method.
+     *
+     * On Remove button selected, remove the selected cases.
+     *
+     * @param evt
+     */
+    private void removeCaseButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        int[] selected = otherCasesList.getSelectedIndices();
+        for (int i=selected.length - 1; i>=0; i--) {
+            otherCases.remove(selected[i]);
+        }
+    }
+
+    // GUI Variables declaration
+    private javax.swing.JLabel orderLabel;
+    private javax.swing.JComboBox<EvidenceOrder> orderComboBox;
+    private javax.swing.JCheckBox groupByParentCheckBox;
+    private javax.swing.JLabel sortThresholdLabel;
+    private javax.swing.JSpinner sortThresholdSpinner;
+    private javax.swing.JLabel heapThresholdLabel;
+    private javax.swing.JSpinner heapThresholdSpinner;
+    private javax.swing.JLabel imageBudgetLabel;
+    private javax.swing.JSpinner imageBudgetSpinner;
+    private javax.swing.JLabel workerProcessesLabel;
+    private javax.swing.JSpinner workerProcessesSpinner;
+    private javax.swing.JLabel fragmentCacheLabel;
+    private javax.swing.JSpinner fragmentCacheSpinner;
+    private javax.swing.JLabel workspaceBudgetLabel;
+    private javax.swing.JSpinner workspaceBudgetSpinner;
+    private javax.swing.JCheckBox reportFilesOnceCheckBox;
+    private javax.swing.JCheckBox includeArtifactTagsCheckBox;
+    private javax.swing.JLabel fieldsLabel;
+    private final Map<EvidenceField, JCheckBox> fieldCheckBoxes = new EnumMap<EvidenceField, JCheckBox>(EvidenceField.class);
+    private javax.swing.JLabel otherCasesLabel;
+    private final DefaultListModel<String> otherCases = new DefaultListModel<String>();
+    private javax.swing.JList<String> otherCasesList;
+    private javax.swing.JScrollPane otherCasesScrollPane;
+    private javax.swing.JButton addCaseButton;
+    private javax.swing.JButton removeCaseButton;
+    // End of variables declaration
+}
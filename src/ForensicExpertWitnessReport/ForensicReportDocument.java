@@ -0,0 +1,165 @@
+/*
+ * Class ForensicReportDocument.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to add the evidence tables of every section to
+ * the forensic expert witness report in one step. Inserting tables into a
+ * document one at a time through POI makes it search and update its lists of
+ * paragraphs and tables on every insert, so the sections are instead copied
+ * straight into the body of the document after the evidence heading, and those
+ * lists are rebuilt once when every section has been added.
+ *
+ * The sections are added through a Splice, one at a time, in order, as each is
+ * built, so that a section can be released as soon as it is copied and the tables
+ * of the report are not held by both the sections and the report until the last
+ * one is built.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFSDT;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlObject;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSdtBlock;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTbl;
+
+class ForensicReportDocument extends XWPFDocument {
+
+    /**
+     * Constructor for objects of class ForensicReportDocument
+     * First and only Constructor.
+     *
+     * @param in the document to open
+     * @throws IOException
+     */
+    ForensicReportDocument(InputStream in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * OpenSplice Method
+     * First Mutator Method.
+     *
+     * Starts adding sections after the given paragraph, one at a time. The lists of
+     * paragraphs and tables of the document are rebuilt once the splice is closed.
+     *
+     * @param heading the paragraph of the evidence heading
+     * @return splice
+     */
+    Splice openSplice(XWPFParagraph heading) {
+        return new Splice(heading);
+    }
+
+    /**
+     * RebuildBodyIndex Method
+     * Second Mutator Method.
+     *
+     * Rebuilds the lists of body elements, paragraphs, tables and content controls
+     * from the body of the document, keeping the paragraphs, tables and content
+     * controls which were already listed so that they stay valid.
+     */
+    private void rebuildBodyIndex() {
+        Map<XmlObject, XWPFParagraph> listedParagraphs = new IdentityHashMap<XmlObject, XWPFParagraph>();
+        for (XWPFParagraph paragraph : paragraphs) {
+            listedParagraphs.put(paragraph.getCTP(), paragraph);
+        }
+        Map<XmlObject, XWPFTable> listedTables = new IdentityHashMap<XmlObject, XWPFTable>();
+        for (XWPFTable table : tables) {
+            listedTables.put(table.getCTTbl(), table);
+        }
+        Iterator<XWPFSDT> listedContentControls = new ArrayList<XWPFSDT>(contentControls).iterator();
+        bodyElements.clear();
+        paragraphs.clear();
+        tables.clear();
+        contentControls.clear();
+
+        XmlCursor cursor = getDocument().getBody().newCursor();
+        try {
+            if (cursor.toFirstChild()) {
+                do {
+                    XmlObject element = cursor.getObject();
+                    if (element instanceof CTP) {
+                        XWPFParagraph paragraph = listedParagraphs.get(element);
+                        if (paragraph == null) {
+                            paragraph = new XWPFParagraph((CTP) element, this);
+                        }
+                        bodyElements.add(paragraph);
+                        paragraphs.add(paragraph);
+                    } else if (element instanceof CTTbl) {
+                        XWPFTable table = listedTables.get(element);
+                        if (table == null) {
+                            table = new XWPFTable((CTTbl) element, this);
+                        }
+                        bodyElements.add(table);
+                        tables.add(table);
+                    } else if (element instanceof CTSdtBlock) {
+                        // Content controls are never added by a section, so they are still in the order they were listed
+                        XWPFSDT contentControl = listedContentControls.hasNext() ? listedContentControls.next() : new XWPFSDT((CTSdtBlock) element, this);
+                        bodyElements.add(contentControl);
+                        contentControls.add(contentControl);
+                    }
+                } while (cursor.toNextSibling());
+            }
+        } finally {
+            cursor.dispose();
+        }
+    }
+
+    /**
+     * Class Splice of package ForensicExpertWitnessReport
+     *
+     * Adds sections after the evidence heading, each after the one added before it.
+     *
+     */
+    class Splice implements Closeable {
+
+        // Declare Instance Variables
+        private final XmlCursor destination;
+
+        private Splice(XWPFParagraph heading) {
+            destination = heading.getCTP().newCursor();
+            destination.toEndToken();
+            destination.toNextToken();
+        }
+
+        /**
+         * Add Method
+         * First Mutator Method.
+         *
+         * Copies the given section after the sections already added, after which
+         * the section is no longer needed.
+         *
+         * @param section the section to add, or null to add nothing
+         */
+        void add(ForensicReportSection section) {
+            if (section != null) {
+                section.mergeInto(destination);
+            }
+        }
+
+        /**
+         * Close Method
+         * Second Mutator Method.
+         *
+         * Rebuilds the lists of paragraphs and tables of the document.
+         *
+         */
+        @Override
+        public void close() {
+            destination.dispose();
+            rebuildBodyIndex();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Class ForensicReportJob.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to describe one forensic expert witness report
+ * which is queued in the ForensicReportJobService. A job holds a copy of the
+ * configuration chosen in ForensicReportConfigPanel together with its priority,
+ * so that it can be written to disk and run again after Autopsy is restarted.
+ * Tag names are held by their display names and are found again in the case
+ * when the job is run.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.sleuthkit.autopsy.report.ReportProgressPanel;
+
+class ForensicReportJob implements Serializable, Comparable<ForensicReportJob> {
+
+    /**
+     * Enum Status of package ForensicExpertWitnessReport
+     *
+     * The states a job passes through.
+     *
+     */
+    enum Status {
+        QUEUED("Queued"),
+        RUNNING("Running"),
+        COMPLETE("Complete"),
+        INCOMPLETE("Complete, files left out"),
+        CANCELLED("Cancelled"),
+        FAILED("Failed");
+
+        private final String displayName;
+
+        Status(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    // Declare Instance Variables
+    private static final long serialVersionUID = 1L;
+    private long id;
+    private final int priority;
+    private final String caseDirectory;
+    private final String reportDirectory;
+    private final String templatePath;
+    private final String documentName;
+    private final String evidenceHeading;
+    private final String fileExtension;
+    private final String tableColour;
+    private final boolean templateOneOrTwo;
+    private final ArrayList<String> tagNames;
+    private final ForensicReportSettings settings;
+    private volatile Status status = Status.QUEUED;
+    private transient volatile ReportProgressPanel progressPanel;
+
+    /**
+     * Constructor for objects of class ForensicReportJob
+     * First and only Constructor.
+     *
+     * Takes a copy of the configuration of the report to generate.
+     *
+     * @param priority jobs with a higher priority are run first
+     * @param caseDirectory directory of the case to report on
+     * @param reportDirectory directory to write the report into
+     * @param templatePath
+     * @param documentName
+     * @param evidenceHeading
+     * @param fileExtension
+     * @param tableColour
+     * @param templateOneOrTwo
+     * @param tagNames display names of the selected tag names
+     * @param settings
+     */
+    ForensicReportJob(int priority, String caseDirectory, String reportDirectory, String templatePath, String documentName, String evidenceHeading,
+            String fileExtension, String tableColour, boolean templateOneOrTwo, List<String> tagNames, ForensicReportSettings settings) {
+        this.priority = priority;
+        this.caseDirectory = caseDirectory;
+        this.reportDirectory = reportDirectory;
+        this.templatePath = templatePath;
+        this.documentName = documentName;
+        this.evidenceHeading = evidenceHeading;
+        this.fileExtension = fileExtension;
+        this.tableColour = tableColour;
+        this.templateOneOrTwo = templateOneOrTwo;
+        this.tagNames = new ArrayList<String>(tagNames);
+        this.settings = new ForensicReportSettings(settings);
+    }
+
+    /**
+     * CompareTo Method
+     * First Accessor Method.
+     *
+     * Orders jobs by priority, highest first, then in the order they were submitted.
+     *
+     * @param other
+     * @return a negative number, zero, or a positive number as this job runs before, with or after other
+     */
+    @Override
+    public int compareTo(ForensicReportJob other) {
+        if (priority != other.priority) {
+            return priority > other.priority ? -1 : 1;
+        }
+        return id < other.id ? -1 : (id == other.id ? 0 : 1);
+    }
+
+    /**
+     * GetId Method
+     * Second Accessor Method.
+     *
+     * @return id
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * GetPriority Method
+     * Third Accessor Method.
+     *
+     * @return priority
+     */
+    int getPriority() {
+        return priority;
+    }
+
+    /**
+     * GetCaseDirectory Method
+     * Fourth Accessor Method.
+     *
+     * @return caseDirectory
+     */
+    String getCaseDirectory() {
+        return caseDirectory;
+    }
+
+    /**
+     * GetReportDirectory Method
+     * Fifth Accessor Method.
+     *
+     * @return reportDirectory
+     */
+    String getReportDirectory() {
+        return reportDirectory;
+    }
+
+    /**
+     * GetTagNames Method
+     * Sixth Accessor Method.
+     *
+     * @return the display names of the selected tag names
+     */
+    List<String> getTagNames() {
+        return tagNames;
+    }
+
+    /**
+     * GetStatus Method
+     * Seventh Accessor Method.
+     *
+     * @return status
+     */
+    Status getStatus() {
+        return status;
+    }
+
+    /**
+     * GetProgressPanel Method
+     * Eighth Accessor Method.
+     *
+     * @return the progress panel of this job, or null before the job is queued
+     */
+    ReportProgressPanel getProgressPanel() {
+        return progressPanel;
+    }
+
+    /**
+     * GetDocumentName Method
+     * Ninth Accessor Method.
+     *
+     * @return documentName
+     */
+    String getDocumentName() {
+        return documentName;
+    }
+
+    /**
+     * NewRun Method
+     * Tenth Accessor Method.
+     *
+     * Creates the run which generates the report of this job.
+     *
+     * @param tagNames the tag names of the case matching the display names of this job
+     * @return run
+     */
+    ForensicReportRun newRun(List<org.sleuthkit.datamodel.TagName> tagNames) {
+        return new ForensicReportRun(templatePath, documentName, evidenceHeading, fileExtension, tableColour, templateOneOrTwo, tagNames, settings);
+    }
+
+    /**
+     * SetId Method
+     * First Mutator Method.
+     *
+     * @param id
+     */
+    void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * SetStatus Method
+     * Second Mutator Method.
+     *
+     * @param status
+     */
+    void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * SetProgressPanel Method
+     * Third Mutator Method.
+     *
+     * @param progressPanel
+     */
+    void setProgressPanel(ReportProgressPanel progressPanel) {
+        this.progressPanel = progressPanel;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("#" + id + " " + documentName + " (");
+        for (int i=0; i<tagNames.size(); i++) {
+            description.append(i == 0 ? "" : ", ").append(tagNames.get(i));
+        }
+        return description.append("), priority ").append(priority).append(": ").append(status).toString();
+    }
+}
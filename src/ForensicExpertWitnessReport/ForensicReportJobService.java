@@ -0,0 +1,403 @@
+/*
+ * Class ForensicReportJobService.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to queue forensic expert witness reports to be
+ * generated in the background, rather than waiting on the report wizard for
+ * every report. Jobs are run in order of priority on a configurable number of
+ * worker threads, each job reporting through its own progress panel where it
+ * can also be cancelled. Jobs which have not finished are written to the
+ * .ForensicReportModule directory whenever the queue changes, and are queued
+ * again the next time the service is used, once their case is open.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import org.sleuthkit.autopsy.casemodule.Case;
+import org.sleuthkit.autopsy.coreutils.Logger;
+import org.sleuthkit.autopsy.report.ReportProgressPanel;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class ForensicReportJobService {
+
+    // Declare Instance Variables
+    private static final Logger logger = Logger.getLogger(ForensicReportJobService.class.getName());
+    private static ForensicReportJobService instance;
+    private final File jobsFile = Paths.get(System.getProperty("user.home"), ".ForensicReportModule", "ReportJobs.ser").toFile();
+    private final File legacyJobsFile = new File(System.getProperty("user.home") + "\\.ForensicReportModule\\ReportJobs.ser");
+    private final ThreadPoolExecutor executor;
+    private final List<ForensicReportJob> jobs = new ArrayList<ForensicReportJob>();
+    private final List<JobTask> queued = new ArrayList<JobTask>();
+    private long nextId = 1;
+    private int modificationCount = 0;
+
+    /**
+     * Constructor for objects of class ForensicReportJobService
+     * First and only Constructor.
+     *
+     * Starts the workers and queues any jobs left unfinished by a previous session.
+     *
+     */
+    private ForensicReportJobService() {
+        final AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ForensicReportJob-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        restore();
+    }
+
+    /**
+     * GetDefault Method
+     * First Accessor Method.
+     *
+     * @return the job service shared by every report
+     */
+    static synchronized ForensicReportJobService getDefault() {
+        if (instance == null) {
+            instance = new ForensicReportJobService();
+        }
+        instance.resume();
+        return instance;
+    }
+
+    /**
+     * Submit Method
+     * First Mutator Method.
+     *
+     * Queues the given job to be run once a worker is free and no job with a higher priority is waiting.
+     *
+     * @param job
+     */
+    synchronized void submit(ForensicReportJob job) {
+        job.setId(nextId++);
+        jobs.add(job);
+        schedule(job);
+        changed();
+    }
+
+    /**
+     * Cancel Method
+     * Second Mutator Method.
+     *
+     * Removes the given job from the queue, or cancels it if it is already running.
+     *
+     * @param job
+     */
+    synchronized void cancel(ForensicReportJob job) {
+        if (job.getStatus() == ForensicReportJob.Status.QUEUED) {
+            // A task taken by a worker but not yet started finds itself removed and does not run
+            for (JobTask task : queued) {
+                if (task.job == job) {
+                    queued.remove(task);
+                    executor.remove(task);
+                    break;
+                }
+            }
+            job.setStatus(ForensicReportJob.Status.CANCELLED);
+            job.getProgressPanel().complete(ReportProgressPanel.ReportStatus.CANCELED);
+            changed();
+        } else if (job.getStatus() == ForensicReportJob.Status.RUNNING) {
+            job.getProgressPanel().cancel();
+        }
+    }
+
+    /**
+     * SetWorkerCount Method
+     * Third Mutator Method.
+     *
+     * Sets the amount of jobs which are run at the same time.
+     *
+     * @param workerCount
+     */
+    synchronized void setWorkerCount(int workerCount) {
+        workerCount = Math.max(workerCount, 1);
+        if (workerCount > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(workerCount);
+            executor.setCorePoolSize(workerCount);
+        } else {
+            executor.setCorePoolSize(workerCount);
+            executor.setMaximumPoolSize(workerCount);
+        }
+    }
+
+    /**
+     * GetWorkerCount Method
+     * Second Accessor Method.
+     *
+     * @return the amount of jobs which are run at the same time
+     */
+    synchronized int getWorkerCount() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * GetJobs Method
+     * Third Accessor Method.
+     *
+     * @return every job submitted or restored since Autopsy was started
+     */
+    synchronized List<ForensicReportJob> getJobs() {
+        return new ArrayList<ForensicReportJob>(jobs);
+    }
+
+    /**
+     * GetModificationCount Method
+     * Fourth Accessor Method.
+     *
+     * @return a number which changes every time a job is added or changes status
+     */
+    synchronized int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * NewReportDirectory Method
+     * Fifth Accessor Method.
+     *
+     * Returns a new directory to write a queued report into, inside the reports directory of the current case.
+     *
+     * @return reportDirectory, ending with a separator
+     */
+    static String newReportDirectory() {
+        String timestamp = new SimpleDateFormat("MM-dd-yyyy-HH-mm-ss-SSS").format(new Date());
+        return Case.getCurrentCase().getReportDirectory() + File.separator + "Forensic Report " + timestamp + File.separator;
+    }
+
+    /**
+     * Schedule Method
+     * Fourth Mutator Method.
+     *
+     * Hands the given job to the workers if its case is open. Jobs of other cases
+     * are kept on disk until their case is opened.
+     *
+     * @param job
+     */
+    private void schedule(ForensicReportJob job) {
+        if (job.getProgressPanel() == null) {
+            job.setProgressPanel(new ReportProgressPanel(job.getDocumentName(), job.getReportDirectory() + "report.docx"));
+        }
+        if (!isCaseOpen(job.getCaseDirectory())) {
+            return;
+        }
+        JobTask task = new JobTask(job);
+        queued.add(task);
+        executor.execute(task);
+    }
+
+    /**
+     * Resume Method
+     * Fifth Mutator Method.
+     *
+     * Hands the waiting jobs of the case which is now open to the workers.
+     *
+     */
+    private synchronized void resume() {
+        for (ForensicReportJob job : jobs) {
+            if (job.getStatus() == ForensicReportJob.Status.QUEUED && !isScheduled(job)) {
+                schedule(job);
+            }
+        }
+    }
+
+    /**
+     * Finished Method
+     * Sixth Mutator Method.
+     *
+     * Records that the given job has finished, or is queued again until its case is opened.
+     *
+     * @param job
+     * @param status
+     */
+    private synchronized void finished(ForensicReportJob job, ForensicReportJob.Status status) {
+        job.setStatus(status);
+        changed();
+    }
+
+    /**
+     * Changed Method
+     * Seventh Mutator Method.
+     *
+     */
+    private synchronized void changed() {
+        modificationCount++;
+        persist();
+    }
+
+    /**
+     * Persist Method
+     * Eighth Mutator Method.
+     *
+     * Writes every job which has not finished to disk, including running jobs,
+     * which are run again if Autopsy is closed before they finish.
+     *
+     */
+    private synchronized void persist() {
+        ArrayList<ForensicReportJob> unfinished = new ArrayList<ForensicReportJob>();
+        for (ForensicReportJob job : jobs) {
+            if (job.getStatus() == ForensicReportJob.Status.QUEUED || job.getStatus() == ForensicReportJob.Status.RUNNING) {
+                unfinished.add(job);
+            }
+        }
+        jobsFile.getParentFile().mkdirs();
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(jobsFile)))) {
+            out.writeLong(nextId);
+            out.writeObject(unfinished);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Unable to save the report job queue", ex);
+        }
+    }
+
+    /**
+     * Restore Method
+     * Ninth Mutator Method.
+     *
+     * Queues the jobs left unfinished by a previous session. Outside of Windows,
+     * a queue saved beside the home directory by an earlier version, which joined
+     * the path with backslashes, is moved into the module directory.
+     *
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized void restore() {
+        File source = jobsFile.exists() ? jobsFile : legacyJobsFile;
+        if (!source.exists()) {
+            return;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            nextId = in.readLong();
+            for (ForensicReportJob job : (List<ForensicReportJob>) in.readObject()) {
+                job.setStatus(ForensicReportJob.Status.QUEUED);
+                jobs.add(job);
+                schedule(job);
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            logger.log(Level.WARNING, "Unable to restore the report job queue", ex);
+            return;
+        }
+        if (!source.equals(jobsFile)) {
+            persist();
+            if (!source.delete()) {
+                logger.log(Level.WARNING, "Unable to remove the report job queue saved in {0}", source);
+            }
+        }
+    }
+
+    private boolean isScheduled(ForensicReportJob job) {
+        for (JobTask task : queued) {
+            if (task.job == job) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCaseOpen(String caseDirectory) {
+        return Case.isCaseOpen() && Case.getCurrentCase().getCaseDirectory().equals(caseDirectory);
+    }
+
+    /**
+     * Class JobTask of package ForensicExpertWitnessReport
+     *
+     * Runs one job on a worker. Tasks are ordered by their job, so the
+     * queue of the workers always hands out the highest priority job first.
+     *
+     */
+    private class JobTask implements Runnable, Comparable<JobTask> {
+
+        private final ForensicReportJob job;
+
+        JobTask(ForensicReportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public int compareTo(JobTask other) {
+            return job.compareTo(other.job);
+        }
+
+        @Override
+        public void run() {
+            synchronized (ForensicReportJobService.this) {
+                if (!queued.remove(this)) {
+                    return;
+                }
+                job.setStatus(ForensicReportJob.Status.RUNNING);
+                changed();
+            }
+            ReportProgressPanel progressPanel = job.getProgressPanel();
+            try {
+                // Keep the job queued until its case is opened again, if the case was closed since the job was queued
+                if (!isCaseOpen(job.getCaseDirectory())) {
+                    logger.log(Level.INFO, "The case of report job {0} is no longer open, the job waits for the case", job.getId());
+                    finished(job, ForensicReportJob.Status.QUEUED);
+                    return;
+                }
+
+                // Find the selected tag names in the case
+                List<TagName> tagNames = new ArrayList<TagName>();
+                for (TagName tagName : Case.getCurrentCase().getServices().getTagsManager().getTagNamesInUse()) {
+                    if (job.getTagNames().contains(tagName.getDisplayName())) {
+                        tagNames.add(tagName);
+                    }
+                }
+
+                // Generate the report and add it to the case
+                new File(job.getReportDirectory()).mkdirs();
+                ForensicReportRun run = job.newRun(tagNames);
+                boolean saved = run.generate(job.getReportDirectory(), progressPanel);
+                if (progressPanel.getStatus() == ReportProgressPanel.ReportStatus.CANCELED) {
+                    finished(job, ForensicReportJob.Status.CANCELLED);
+                    return;
+                }
+                if (!saved) {
+                    throw new IllegalStateException("The report of report job " + job.getId() + " could not be written");
+                }
+                ForensicReport module = ForensicReport.getDefault();
+                run.addToCase(job.getReportDirectory(), module.getName(), module.getRelativeFilePath());
+                if (run.getOmittedFiles() > 0) {
+                    progressPanel.complete(ReportProgressPanel.ReportStatus.ERROR);
+                    finished(job, ForensicReportJob.Status.INCOMPLETE);
+                    return;
+                }
+                progressPanel.complete(ReportProgressPanel.ReportStatus.COMPLETE);
+                finished(job, ForensicReportJob.Status.COMPLETE);
+            } catch (TskCoreException | RuntimeException ex) {
+
+                // Queue the job again if its case was closed while it ran, it is run again once the case is opened
+                if (!isCaseOpen(job.getCaseDirectory())) {
+                    logger.log(Level.WARNING, "The case of report job " + job.getId() + " was closed while the job ran, the job waits for the case", ex);
+                    finished(job, ForensicReportJob.Status.QUEUED);
+                    return;
+                }
+                logger.log(Level.SEVERE, "Report job " + job.getId() + " failed", ex);
+                progressPanel.complete(ReportProgressPanel.ReportStatus.ERROR);
+                finished(job, ForensicReportJob.Status.FAILED);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Class ForensicReportJobsPanel.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to display a graphical user interface (GUI) which
+ * allows the user to queue the report currently configured in
+ * ForensicReportConfigPanel to be generated in the background, to choose how many
+ * queued reports are generated at the same time, and to follow the progress of,
+ * or cancel, every queued report.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
+
+class ForensicReportJobsPanel extends javax.swing.JPanel {
+
+    // Declare Instance Variables
+    private static final long serialVersionUID = 1L;
+    private final ForensicReportConfigPanel configPanel;
+    private final ForensicReportJobService service = ForensicReportJobService.getDefault();
+    private final Timer refreshTimer;
+    private int shownModificationCount = -1;
+
+    /**
+     * Constructor for objects of class ForensicReportJobsPanel
+     * First and only Constructor.
+     *
+     * Display the GUI to the user, showing every queued report.
+     *
+     * @param configPanel the panel holding the configuration of the report to queue
+     */
+    ForensicReportJobsPanel(ForensicReportConfigPanel configPanel) {
+        this.configPanel = configPanel;
+        initComponents();
+        refreshTimer = new Timer(1000, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent evt) {
+                refresh();
+            }
+        });
+        refresh();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * InitComponents method
+     * First Mutator Method.
+     *
+     * Set the GUI of every component and display the GUI to the user.
+     *
+     * Includes the following:
+     *
+     * priorityLabel
+     * prioritySpinner
+     * queueButton
+     * workersLabel
+     * workersSpinner
+     * jobsScrollPane
+     */
+    private void initComponents() {
+
+        priorityLabel = new javax.swing.JLabel();
+        prioritySpinner = new javax.swing.JSpinner(new SpinnerNumberModel(5, 0, 10, 1));
+        queueButton = new javax.swing.JButton();
+        workersLabel = new javax.swing.JLabel();
+        workersSpinner = new javax.swing.JSpinner(new SpinnerNumberModel(service.getWorkerCount(), 1, 16, 1));
+        jobsPanel = new javax.swing.JPanel();
+        jobsScrollPane = new javax.swing.JScrollPane(jobsPanel);
+
+        priorityLabel.setText("Priority:");
+        queueButton.setText("Queue report");
+        queueButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                queueButtonActionPerformed(evt);
+            }
+        });
+        workersLabel.setText("Reports generated at the same time:");
+        workersSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                service.setWorkerCount((Integer) workersSpinner.getValue());
+            }
+        });
+        jobsPanel.setLayout(new BoxLayout(jobsPanel, BoxLayout.Y_AXIS));
+        jobsScrollPane.setPreferredSize(new Dimension(560, 320));
+
+        javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
+        this.setLayout(layout);
+        layout.setHorizontalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(priorityLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(prioritySpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 50, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(queueButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addComponent(workersLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(workersSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 50, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(jobsScrollPane))
+                .addContainerGap())
+        );
+        layout.setVerticalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(priorityLabel)
+                    .addComponent(prioritySpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(queueButton)
+                    .addComponent(workersLabel)
+                    .addComponent(workersSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addComponent(jobsScrollPane)
+                .addContainerGap())
+        );
+    }
+
+    /**
+     * QueueButtonActionPerformed method
+     * Second Mutator Method.
+     *
+     * Queue the report currently configured, with the chosen priority.
+     *
+     * @param evt
+     */
+    private void queueButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        if (configPanel.getSelectedTagNames().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please select at least one tag name to report.", "Queue Report Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        service.submit(configPanel.newReportJob((Integer) prioritySpinner.getValue()));
+        refresh();
+    }
+
+    /**
+     * Refresh method
+     * Third Mutator Method.
+     *
+     * Rebuild the list of jobs if any job has been added or has changed status.
+     *
+     */
+    private void refresh() {
+        int modificationCount = service.getModificationCount();
+        if (modificationCount == shownModificationCount) {
+            return;
+        }
+        shownModificationCount = modificationCount;
+        jobsPanel.removeAll();
+        List<ForensicReportJob> jobs = service.getJobs();
+        for (int i=jobs.size() - 1; i>=0; i--) {
+            jobsPanel.add(jobRow(jobs.get(i)));
+        }
+        jobsPanel.revalidate();
+        jobsPanel.repaint();
+    }
+
+    /**
+     * JobRow method
+     * Fourth Mutator Method.
+     *
+     * Create the row showing the description, progress and cancel button of the given job.
+     *
+     * @param job
+     * @return row
+     */
+    private JPanel jobRow(final ForensicReportJob job) {
+        JPanel row = new JPanel();
+        row.setLayout(new BoxLayout(row, BoxLayout.Y_AXIS));
+        JPanel header = new JPanel(new java.awt.BorderLayout());
+        header.add(new JLabel(job.toString()), java.awt.BorderLayout.CENTER);
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(job.getStatus() == ForensicReportJob.Status.QUEUED || job.getStatus() == ForensicReportJob.Status.RUNNING);
+        cancelButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent evt) {
+                service.cancel(job);
+                refresh();
+            }
+        });
+        header.add(cancelButton, java.awt.BorderLayout.EAST);
+        row.add(header);
+        if (job.getProgressPanel() != null) {
+            row.add(job.getProgressPanel());
+        }
+        return row;
+    }
+
+    // GUI Variables declaration
+    private javax.swing.JLabel priorityLabel;
+    private javax.swing.JSpinner prioritySpinner;
+    private javax.swing.JButton queueButton;
+    private javax.swing.JLabel workersLabel;
+    private javax.swing.JSpinner workersSpinner;
+    private javax.swing.JPanel jobsPanel;
+    private javax.swing.JScrollPane jobsScrollPane;
+    // End of variables declaration
+}
@@ -0,0 +1,871 @@
+/*
+ * Class ForensicReportRun.java of package ForensicExpertWitnessReport
+ * 
+ * Using this class you are able to generate one forensic expert witness report.
+ * Every call to ForensicReport.generateReport creates its own run, holding the
+ * configuration chosen when the report was requested together with all of the
+ * working state of the report, such as the document, cursor, paragraphs and 
+ * tables. As no state is shared between runs, several reports can be generated
+ * at the same time. Within a run, the tagged files of every case the report is
+ * built from are collected on their own thread, see EvidenceCase, and the tables
+ * of every tag name are built on their own thread into a ForensicReportSection
+ * and merged into the report after the evidence heading, in order, as soon as the
+ * section and every section before it are built, after which it is released.
+ * 
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import org.sleuthkit.autopsy.report.ReportProgressPanel;
+import java.util.Collections;
+import org.sleuthkit.datamodel.AbstractFile;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import java.util.ArrayList;
+import java.util.logging.Level;
+import org.sleuthkit.autopsy.casemodule.Case;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.JOptionPane;
+import org.sleuthkit.autopsy.coreutils.Logger;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.math.BigInteger;
+import java.nio.file.Paths;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblWidth;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTblWidth;
+
+class ForensicReportRun {
+    
+    // Declare the configuration of this run
+    private final String templatePath;
+    private final String documentName;
+    private final String evidenceHeading;
+    private final String file_extension;
+    private final String tableColour;
+    private final boolean templateOneOrTwo;
+    private final List<TagName> tagNames;
+    private final ForensicReportSettings settings;
+    private final String fontColour = "ffffff";
+    
+    // Declare the working state of this run
+    private ForensicReportDocument ForensicReport_doc = null;
+    private FileOutputStream out = null;
+    private final AtomicLong omittedFiles = new AtomicLong();
+
+    /**
+     * Constructor for objects of class ForensicReportRun
+     * First and only Constructor.
+     * 
+     * Takes a copy of the configuration of the report to generate.
+     * 
+     * @param templatePath path of the forensic expert witness report to report into
+     * @param documentName name of the forensic expert witness report, as shown to the user
+     * @param evidenceHeading
+     * @param file_extension
+     * @param tableColour
+     * @param templateOneOrTwo whether pre-existing template one or two is selected
+     * @param tagNames
+     * @param settings
+     */
+    ForensicReportRun(String templatePath, String documentName, String evidenceHeading, String file_extension, String tableColour, boolean templateOneOrTwo, List<TagName> tagNames, ForensicReportSettings settings) {
+        this.templatePath = templatePath;
+        this.documentName = documentName;
+        this.evidenceHeading = evidenceHeading;
+        this.file_extension = file_extension;
+        this.tableColour = tableColour;
+        this.templateOneOrTwo = templateOneOrTwo;
+        this.tagNames = new ArrayList<TagName>(tagNames);
+        this.settings = new ForensicReportSettings(settings);
+    }
+    
+    /**
+     * Generate Method.
+     * Main and First mutator method
+     * 
+     * Uses the selected tag names, target document and evidence header of this run
+     * to retrieve the file information for files under this tag name, and add them
+     * into a structured table under the appropriate evidence header inside a fresh
+     * copy of the given Microsoft Word document.
+     * 
+     * The files of the current case and of every other case chosen are collected
+     * at the same time, each case on its own thread through its own database, then
+     * the tables of every tag name of every case are built in parallel and added
+     * after the evidence heading in the order of the cases and of the tag names.
+     * 
+     * The scratch files of the run are held in a ReportWorkspace under the temporary
+     * directory of the case, limited to the configured budget, which is removed when
+     * the run finishes, and the other cases are closed.
+     * 
+     * A report which is estimated not to fit in the heap, even when generated with
+     * least heap, is not generated, and the reason is shown to the user.
+     * 
+     * @param baseReportDir
+     * @param progressPanel 
+     * @return whether the report was written to disk
+     */
+    boolean generate(String baseReportDir, ReportProgressPanel progressPanel) {
+        ReportWorkspace workspace = null;
+        try {
+            workspace = ReportWorkspace.create(Paths.get(Case.getCurrentCase().getTempDirectory()), settings.getWorkspaceBudget() * 1024L * 1024L);
+        } catch (IOException ex) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Failed to create scratch workspace, sorting in the system temporary directory", ex);
+        }
+        List<EvidenceCase> cases = openCases();
+        try {
+            return writeReport(baseReportDir, progressPanel, workspace, cases);
+        } finally {
+            for (EvidenceCase evidenceCase : cases) {
+                evidenceCase.close();
+            }
+            if (workspace != null) {
+                try {
+                    workspace.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Failed to remove scratch workspace " + workspace.getDirectory(), ex);
+                }
+            }
+        }
+    }
+    
+    /**
+     * WriteReport Method
+     * Second Mutator Method.
+     * 
+     * Collects, sorts and adds the tagged evidence of every case into the report and writes it to disk.
+     * 
+     * @param baseReportDir
+     * @param progressPanel 
+     * @param workspace the scratch workspace of the run, or null if it could not be created
+     * @param cases the current case followed by every other case opened
+     * @return whether the report was written to disk
+     */
+    private boolean writeReport(String baseReportDir, ReportProgressPanel progressPanel, ReportWorkspace workspace, List<EvidenceCase> cases) {
+        
+        // Watch the heap for the whole run, so that the run uses less memory if the heap runs low
+        HeapGuard heapGuard = new HeapGuard(settings.getHeapThreshold());
+        long allocationMark = heapGuard.mark();
+        
+        // Open this run's own copy of the selected document, so that runs never share a document.
+        ForensicReport_doc = openDocument(templatePath);
+        if (ForensicReport_doc == null) {
+            JOptionPane.showMessageDialog(null, "Unable to open " + documentName + ".", "Inputted Document Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+        
+        // Add the styles of the evidence tables to the document, which every table refers to rather than being formatted cell by cell
+        ForensicReportSection.addStyles(ForensicReport_doc, tableColour, fontColour);
+                
+        // Set the progressPanel to a known amount, start the progressPanel and update it.
+        progressPanel.setIndeterminate(false);
+        progressPanel.start();
+        progressPanel.updateStatusLabel("Adding files...");
+        
+        // Create list containing the failed to report tagged files, added to by every case
+        List<String> failedExports = Collections.synchronizedList(new ArrayList<String>());
+        
+        // Estimate the report from the counts of the tagged files, images and results, and generate it using less memory from the start if it is not estimated to fit
+        try {
+            ReportEstimate estimate = ReportEstimate.count(cases, settings, heapGuard.getMaxHeap());
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.INFO, "Forensic Report: {0}", estimate);
+            
+            // Refuse to generate the report if it does not fit in the heap even with least heap, as the whole report is held in the heap until it is written
+            if (!estimate.fits()) {
+                String message = "The report is estimated to need " + (estimate.getLowMemoryHeapNeeded() / (1024 * 1024)) + " MB of heap, but Autopsy has at most "
+                        + (heapGuard.getMaxHeap() / (1024 * 1024)) + " MB. Select fewer tag names, or increase the maximum heap of Autopsy.";
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Forensic Report {0} not generated: {1}", new Object[]{documentName, message});
+                progressPanel.updateStatusLabel(message);
+                JOptionPane.showMessageDialog(null, message, "Report Too Large", JOptionPane.ERROR_MESSAGE);
+                return false;
+            }
+            if (estimate.getStrategy() == ReportEstimate.Strategy.LOW_MEMORY) {
+                heapGuard.enterLowMemory("the report was estimated to need " + (estimate.getHeapNeeded() / (1024 * 1024)) + " MB of heap");
+            }
+            progressPanel.updateStatusLabel(estimate + ".");
+        } catch (TskCoreException ex) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Error estimating report, generating in memory", ex);
+        }
+        
+        // Account for false user inputs
+        boolean validInput = evidenceHeading != null && evidenceHeading.length() >= 3;
+        if (!validInput && !tagNames.isEmpty()) {
+            if (evidenceHeading == null || (evidenceHeading.isEmpty())) {
+                JOptionPane.showMessageDialog(null, "Please enter an evidence heading", "Inputted Evidence Heading Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(null, "Evidence headings must be 3 characters or longer.", "Inputted Evidence Heading Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        
+        // Collect the files of every case at the same time, each on its own thread through the database of the case
+        long total = 0;
+        if (validInput) {
+            collectCases(cases, heapGuard, workspace, progressPanel, failedExports);
+            for (EvidenceCase evidenceCase : cases) {
+                total += evidenceCase.total;
+            }
+        }
+        
+        // Find the evidence heading, after which the tagged files are added
+        XWPFParagraph headingParagraph = null;
+        heading_count = 0;
+        if (total > 0 && progressPanel.getStatus() != ReportProgressPanel.ReportStatus.CANCELED) {
+            
+            // Retrieve the paragraphs from the user inputted forensic expert witness report
+            paragraphlist = ForensicReport_doc.getParagraphs();
+            
+            // Convert arraylist to array
+            paragraphs = new XWPFParagraph[paragraphlist.size()]; 
+            for(int i=0; i<paragraphlist.size(); i++) {
+                paragraphs[i] = paragraphlist.get(i);
+            }
+            
+            // Count the paragraphs which contain the evidence heading
+            for(int i=0; i<paragraphs.length; i++) {
+                if (paragraphs[i].getText() != null && paragraphs[i].getText().contains(evidenceHeading)) {
+                    heading_count++;
+                    headingParagraph = paragraphs[i];
+                }
+            }
+            
+            // Display error if the evidence heading was not found
+            if (heading_count == 0) {
+                JOptionPane.showMessageDialog(null, "Unable to find evidence heading", "Inputted Evidence Heading Error", JOptionPane.ERROR_MESSAGE);
+            }
+            
+            // Display error if the evidence heading was found more than once
+            if (heading_count > 1 ) {
+                JOptionPane.showMessageDialog(null, "Evidence headings must be unique.", "Multiple entities of headings found", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        
+        // Build the section of every tag name of every case on its own thread, merging the sections after the evidence heading in the order of the cases and tag names
+        if (heading_count == 1) {
+            progressPanel.setMaximumProgress((int) Math.min(total, Integer.MAX_VALUE));
+            progressPanel.updateStatusLabel("Adding tables to " + documentName + "...");
+            try (ForensicReportDocument.Splice splice = ForensicReport_doc.openSplice(headingParagraph)) {
+                buildSections(cases, heapGuard, progressPanel, splice);
+            }
+        }
+        
+        // Remove the sorted files of any section which was not built
+        for (EvidenceCase evidenceCase : cases) {
+            for (EvidenceSorter sorter : evidenceCase.sorters) {
+                sorter.discard();
+            }
+        }
+                        
+        // If template 1 or 2 is selected, set the table colour and the table width of the existing table in the template to match the configured & generated tables.
+        if (templateOneOrTwo) {
+            tableRow = ForensicReport_doc.getTableArray(2).getRow(0);            
+            for (int column=0; column<4; column++) {
+                if (column==0) ForensicReportSection.configureTable(tableRow, column, "Item", ForensicReportSection.HEADING_STYLE, true);
+                if (column==1) ForensicReportSection.configureTable(tableRow, column, "Serial Number", ForensicReportSection.HEADING_STYLE, true);
+                if (column==2) ForensicReportSection.configureTable(tableRow, column, "Description", ForensicReportSection.HEADING_STYLE, false); 
+                if (column==3) ForensicReportSection.configureTable(tableRow, column, "Type", ForensicReportSection.HEADING_STYLE, true);
+                tableRow.getCell(column).setColor(tableColour);
+            }
+            // Set table width to 100%
+            width = ForensicReport_doc.getTableArray(2).getCTTbl().addNewTblPr().addNewTblW();
+            width.setType(STTblWidth.DXA);
+            width.setW(BigInteger.valueOf(((6*1440)+938)));
+        }
+        
+        // Write the Document in file system
+        try {
+            out = new FileOutputStream(new File(baseReportDir + "report." + file_extension));
+        } catch(FileNotFoundException e){
+            JOptionPane.showMessageDialog(null, "Unable to create new report.", "Create New Report Error", JOptionPane.ERROR_MESSAGE);
+            Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Failed to create new report", e);
+        }
+
+        // Save the document to disk.                            
+        boolean saved = false;
+        if(out != null) {
+            try {
+                ForensicReport_doc.write(out);
+                out.close();
+                saved = true;
+            } catch(IOException e){
+                JOptionPane.showMessageDialog(null, "Unable to save report.", "Save Report Error", JOptionPane.ERROR_MESSAGE);
+                Logger.getLogger(ForensicReportConfigPanel.class.getName()).log(Level.SEVERE, "Failed to save report", e);
+            }
+        }
+        
+        // Log the memory used by the run with the report
+        heapGuard.sample("saving the report");
+        heapGuard.addAllocation(allocationMark);
+        StringBuilder imageSummary = new StringBuilder();
+        for (EvidenceCase evidenceCase : cases) {
+            if (evidenceCase.images != null) {
+                imageSummary.append(imageSummary.length() > 0 ? "; " : "").append(cases.size() > 1 ? evidenceCase.name + ": " : "").append(evidenceCase.images.summary());
+            }
+        }
+        Logger.getLogger(ForensicReportRun.class.getName()).log(Level.INFO, "Forensic Report {0}: {1}, {2}", new Object[]{baseReportDir + "report." + file_extension, heapGuard.summary(),
+                imageSummary.length() == 0 ? "no images added" : imageSummary});
+            
+        // Manage the failed exports and display to user
+        if (!failedExports.isEmpty()) {
+            StringBuilder errorMessage = new StringBuilder("Failed to export the following files: ");
+            for (int i=0; i<failedExports.size(); i++) {
+                errorMessage.append(failedExports.get(i));
+                if (failedExports.size()>1 && i<failedExports.size() - 1) {
+                    errorMessage.append(",");
+                }
+                if (i == failedExports.size() - 1) {
+                    errorMessage.append(".");
+                }
+            }
+            JOptionPane.showMessageDialog(null, errorMessage.toString(), "Hash Export Error", JOptionPane.ERROR_MESSAGE);
+        }
+        
+        // Tell the user the report is incomplete, if files were left out of it
+        if (saved && omittedFiles.get() > 0) {
+            progressPanel.updateStatusLabel(omittedFiles.get() + " tagged files were left out of the report as the scratch space was full, see the notes in the report.");
+        }
+        return saved;
+    }
+        
+    /**
+     * OpenCases Method
+     * Third Mutator Method.
+     * 
+     * Opens the cases the evidence of the report is added from, the current case
+     * followed by every other case chosen in the advanced settings. A case which
+     * cannot be opened is left out of the report.
+     * 
+     * @return cases
+     */
+    private List<EvidenceCase> openCases() {
+        List<EvidenceCase> cases = new ArrayList<EvidenceCase>();
+        cases.add(EvidenceCase.current(tagNames));
+        for (String caseDirectory : settings.getOtherCases()) {
+            try {
+                cases.add(EvidenceCase.open(caseDirectory, tagNames));
+            } catch (TskCoreException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Failed to open case " + caseDirectory, ex);
+                JOptionPane.showMessageDialog(null, "Unable to open the case in " + caseDirectory + ", its evidence is not added to the report.", "Open Case Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        return cases;
+    }
+    
+    /**
+     * CollectCases Method
+     * Fourth Mutator Method.
+     * 
+     * Collects the tagged files of every case, each case on its own thread, as every
+     * case is read through a database of its own. The budget of images is shared
+     * evenly between the cases.
+     * 
+     * @param cases
+     * @param heapGuard
+     * @param workspace the scratch workspace of the run, or null if it could not be created
+     * @param progressPanel
+     * @param failedExports the failed to report tagged files, shared by every case
+     */
+    private void collectCases(List<EvidenceCase> cases, final HeapGuard heapGuard, final ReportWorkspace workspace, final ReportProgressPanel progressPanel, final List<String> failedExports) {
+        final long imageBudget = settings.getImageBudget() * 1024L * 1024L / cases.size();
+        final boolean severalCases = cases.size() > 1;
+        ExecutorService executor = Executors.newFixedThreadPool(cases.size());
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        try {
+            for (final EvidenceCase evidenceCase : cases) {
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        long allocationMark = heapGuard.mark();
+                        try {
+                            collectCase(evidenceCase, severalCases ? " of " + evidenceCase.name : "", imageBudget, heapGuard, workspace, progressPanel, failedExports);
+                        } finally {
+                            heapGuard.addAllocation(allocationMark);
+                        }
+                    }
+                }));
+            }
+            for (int i=0; i<futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException ex) {
+                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error adding the files of case " + cases.get(i).name, ex.getCause());
+                    JOptionPane.showMessageDialog(null, "Error adding the files of case " + cases.get(i).name + ".", "File Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Interrupted while adding files", ex);
+            Thread.currentThread().interrupt();
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * CollectCase Method
+     * Fifth Mutator Method.
+     * 
+     * Collects the files tagged under every tag name of the given case, in the order
+     * of the tag names, each into its own sorter, together with their extended fields
+     * and images.
+     * 
+     * @param evidenceCase
+     * @param ofCase the name of the case shown in the status label, or empty if the report has a single case
+     * @param imageBudget the bytes of images which may be added from the case
+     * @param heapGuard
+     * @param workspace the scratch workspace of the run, or null if it could not be created
+     * @param progressPanel
+     * @param failedExports the failed to report tagged files
+     */
+    private void collectCase(EvidenceCase evidenceCase, String ofCase, long imageBudget, HeapGuard heapGuard, ReportWorkspace workspace, ReportProgressPanel progressPanel, List<String> failedExports) {
+        SleuthkitCase skCase = evidenceCase.skCase;
+        
+        // Index the files tagged under every selected tag name, so that each file is only added once
+        EvidenceIndex evidenceIndex = null;
+        if (settings.isReportFilesOnce()) {
+            progressPanel.updateStatusLabel("Finding files tagged under several tag names" + ofCase + "...");
+            evidenceIndex = new EvidenceIndex(1024);
+            for (TagName tagName : evidenceCase.tagNames) {
+                try {
+                    ContentTagPager pager = new ContentTagPager(skCase, tagName, ContentTagPager.PAGE_SIZE);
+                    for (List<ContentTagPager.Entry> page = pager.nextPage(); !page.isEmpty(); page = pager.nextPage()) {
+                        for (ContentTagPager.Entry tag : page) {
+                            if (tag.file != null) {
+                                evidenceIndex.add(tag.objectId, tagName.getDisplayName(), tag.comment);
+                            }
+                        }
+                    }
+                } catch (TskCoreException ex) {
+                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error indexing files", ex);
+                    JOptionPane.showMessageDialog(null, "Error getting selected tags for case.", "File Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }
+        
+        // Collect the extended fields of every tagged file, if any are shown
+        Set<EvidenceField> fields = settings.getFields();
+        EvidenceAttributes evidenceAttributes = settings.hasExtendedFields() ? new EvidenceAttributes(1024) : null;
+        evidenceCase.evidenceAttributes = evidenceAttributes;
+        boolean lowMemory = heapGuard.isLowMemory();
+        
+        // Reserve the tagged images up to their budget, as they are held in memory until the report is written, to be added as their tables are built
+        EvidenceImages images = new EvidenceImages(ForensicReport_doc, skCase, imageBudget);
+        evidenceCase.images = images;
+              
+	// For each tag name in the list of tag names, do the following
+        for (TagName tagName : evidenceCase.tagNames) {
+			
+            // Break the loop if the user clicks cancel
+            if (progressPanel.getStatus() == ReportProgressPanel.ReportStatus.CANCELED) {
+                break;
+            }
+			
+            // Try-catch the following, required for retrieving the content of the tagged files.
+            try {
+                // Count the tagged files, which are read a page at a time rather than as one list
+                long contentTagCount = skCase.getContentTagsCountByTagName(tagName);
+                
+                // Count the tagged results, which are read a page at a time when the tables are built
+                long artifactTagCount = settings.isIncludeArtifactTags() ? skCase.getBlackboardArtifactTagsCountByTagName(tagName) : 0;
+
+                progressPanel.updateStatusLabel("Adding \"" + tagName.getDisplayName() + "\" files" + ofCase + " to " + documentName + "...");
+
+                // Collect the metadata of every tagged file, to be sorted and grouped as configured, holding fewer files in memory if the heap is running low
+                int sortMemoryThreshold = heapGuard.isLowMemory() ? Math.min(settings.getSortMemoryThreshold(), HeapGuard.LOW_MEMORY_SORT_THRESHOLD) : settings.getSortMemoryThreshold();
+                EvidenceSorter sorter = new EvidenceSorter(settings.getEvidenceOrder(), settings.isGroupByParent(), sortMemoryThreshold, (int) Math.min(contentTagCount, sortMemoryThreshold),
+                        workspace);
+                evidenceCase.sectionTagNames.add(tagName);
+                evidenceCase.sorters.add(sorter);
+                evidenceCase.artifactTagCounts.add(artifactTagCount);
+
+                // For each page of tagged files, then each tagged file of the page, do the following
+                ContentTagPager pager = new ContentTagPager(skCase, tagName, ContentTagPager.PAGE_SIZE);
+                for (List<ContentTagPager.Entry> page = pager.nextPage(); !page.isEmpty(); page = pager.nextPage()) {
+
+                    // Break the loop if the user clicks cancel
+                    if (progressPanel.getStatus() == ReportProgressPanel.ReportStatus.CANCELED) {
+                        break;
+                    }
+
+                    for (ContentTagPager.Entry tag : page) {
+
+                        // Retrieve the tagged file, which is null if the tagged content is not a file
+                        AbstractFile Content = tag.file;
+
+                        // If the content object relating to this tagged file is an instance of AbstractFile class, do the following.
+                        if (Content != null) {
+                        
+                            // Skip the file if it has already been added under another tag name
+                            if (evidenceIndex != null && evidenceIndex.isRendered(Content.getId())) {
+                                continue;
+                            }
+
+                            // Update the status label to the current tagged file we are reporting.
+                            progressPanel.updateStatusLabel("Adding " + tag.name + " from \"" + tagName.getDisplayName() + "\"" + ofCase + " to " + documentName + "...");
+
+                            // Retrieve the File Name, set to variable
+                            String filename = tag.name;
+
+                            // Retrieve File Path, if it is shown or the tables are ordered by it
+                            String path = null;
+                            if (settings.isFetched(EvidenceField.FILE_PATH)) {
+                                if (null != Content.getLocalAbsPath()) {
+                                    path = Content.getLocalAbsPath();                                
+                                } else {
+                                    path = Content.getUniquePath();                                
+                                } 
+                            }
+
+                            // Retrieve the comment
+                            String comment = "";
+                            if (tag.comment != null) {
+                                comment = tag.comment;
+                            }
+                        
+                            // Retrieve every tag name and comment of the file, if each file is only added once
+                            String fileTagNames = null;
+                            if (evidenceIndex != null) {
+                                fileTagNames = evidenceIndex.getTagNames(Content.getId());
+                                comment = evidenceIndex.getComments(Content.getId());
+                            }
+
+                            // Add the File Name, File Path, MD5 Hash, comment and the created, modified & accessed times to the sorter,
+                            // retrieving only the fields which are shown or which the tables are ordered by
+                            // Skip the file if the scratch workspace is out of its budget and no more files can be held in memory
+                            if (!sorter.add(Content.getId(), filename, path,
+                                    settings.isFetched(EvidenceField.HASH) ? Content.getMd5Hash() : null, comment, fileTagNames,
+                                    settings.isFetched(EvidenceField.CREATED_TIME) ? Content.getCtime() : 0,
+                                    settings.isFetched(EvidenceField.MODIFIED_TIME) ? Content.getMtime() : 0,
+                                    settings.isFetched(EvidenceField.ACCESSED_TIME) ? Content.getAtime() : 0)) {
+                                continue;
+                            }
+                            
+                            // Only once the file is added, leave it out of the other tag names
+                            if (evidenceIndex != null) {
+                                evidenceIndex.markRendered(Content.getId());
+                            }
+                            if (evidenceAttributes != null) {
+                                evidenceAttributes.add(Content.getId(), fields.contains(EvidenceField.SIZE) ? Content.getSize() : 0,
+                                        fields.contains(EvidenceField.MIME_TYPE) ? Content.getMIMEType() : null);
+                            }
+                            
+                            // Write the files collected so far to disk, and hold fewer files in memory from now on, once the heap is running low
+                            if (!lowMemory && heapGuard.check("adding \"" + tagName.getDisplayName() + "\" files")) {
+                                lowMemory = true;
+                                progressPanel.updateStatusLabel("Heap is running low, sorting files on disk...");
+                                for (EvidenceSorter collected : evidenceCase.sorters) {
+                                    collected.reduceMemory(HeapGuard.LOW_MEMORY_SORT_THRESHOLD);
+                                }
+                            }
+                                                
+                            // Reserve the content for a picture of the report, shown in the table of the file, if the tagged file
+                            // is an image by its MIME type or signature, unless the heap is running low.
+                            if (!lowMemory) {
+                                try {
+                                    images.reserve(Content);
+                                } catch (TskCoreException ex) {
+                                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error adding image " + filename, ex);
+                                }
+                            }
+                        }
+                        // Display an error if the tagged file is not an instance of AbstractFile and thus cannot be written to the report.
+                        // This can possibly occur if the tagged file is a directory or if it is unallocated space.
+                        else {
+                            JOptionPane.showMessageDialog(null, "Unable to add " + tag.name + "to the report.", "Add to Report Error", JOptionPane.ERROR_MESSAGE);
+                            failedExports.add(tag.name);
+                        }
+                    }
+                }
+
+                // Display an error if files were skipped as the scratch workspace was out of its budget
+                if (sorter.getSkipped() > 0) {
+                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Skipped {0} \"{1}\" files{2}, the scratch workspace is limited to {3} MB",
+                            new Object[]{sorter.getSkipped(), tagName.getDisplayName(), ofCase, settings.getWorkspaceBudget()});
+                    JOptionPane.showMessageDialog(null, sorter.getSkipped() + " \"" + tagName.getDisplayName() + "\" files" + ofCase + " were left out of the report, as the scratch space"
+                            + " is limited to " + settings.getWorkspaceBudget() + " MB in the advanced settings.", "Scratch Space Error", JOptionPane.ERROR_MESSAGE);
+                    omittedFiles.addAndGet(sorter.getSkipped());
+                }
+
+                // Count the amount of files and results to add into the report
+                evidenceCase.total += sorter.size() + artifactTagCount;
+
+            // Throw exception if we cannot retrieve the content of any of the tagged files
+            } catch (TskCoreException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error adding files", ex);
+                JOptionPane.showMessageDialog(null, "Error getting selected tags for case.", "File Export Error", JOptionPane.ERROR_MESSAGE);
+            
+            // Throw exception if the tagged files could not be sorted on disk
+            } catch (IOException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error sorting files", ex);
+                JOptionPane.showMessageDialog(null, "Error sorting the tagged files.", "File Export Error", JOptionPane.ERROR_MESSAGE);
+            }            
+
+        }
+        
+        // Retrieve the EXIF and hash set fields of the tagged files of the case, a batch of files at a time
+        boolean exif = fields.contains(EvidenceField.CAMERA) || fields.contains(EvidenceField.GPS_LOCATION);
+        if (evidenceAttributes != null && evidenceCase.total > 0 && (exif || fields.contains(EvidenceField.HASH_SET_HITS))
+                && progressPanel.getStatus() != ReportProgressPanel.ReportStatus.CANCELED) {
+            progressPanel.updateStatusLabel("Retrieving extended fields of the tagged files" + ofCase + "...");
+            try {
+                evidenceAttributes.prefetch(skCase, exif, fields.contains(EvidenceField.HASH_SET_HITS));
+            } catch (TskCoreException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error retrieving extended fields", ex);
+                JOptionPane.showMessageDialog(null, "Error getting the extended fields of the tagged files.", "File Export Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+        
+    /**
+     * BuildSections Method
+     * Sixth Mutator Method.
+     * 
+     * Builds the tables of every tag name of every case into its own ForensicReportSection,
+     * each on its own thread, reading the files of the tag name from its sorter in order.
+     * If worker processes are configured, the tables of the files are built by a
+     * SectionWorkerPool, each thread streaming its files to a worker of its own.
+     * Otherwise the tables of the files are kept in a FragmentCache in the cache
+     * directory of the case, and the tables of unchanged files copied from it.
+     * If the report has several cases, the first section of every case is captioned
+     * with the name of the case.
+     * 
+     * Every section is added to the given splice as soon as it and the sections
+     * before it are built, and released, so that the report and the sections not
+     * yet merged are all that is held. A section which could not be built is left out.
+     * 
+     * @param cases
+     * @param heapGuard the guard of the run, sections are built one at a time if the heap is running low
+     * @param progressPanel
+     * @param splice the position after the evidence heading the sections are added to
+     */
+    private void buildSections(List<EvidenceCase> cases, final HeapGuard heapGuard, final ReportProgressPanel progressPanel, ForensicReportDocument.Splice splice) {
+        
+        // Pair every sorter with its case, in the order of the cases and then of the tag names
+        List<EvidenceCase> sectionCases = new ArrayList<EvidenceCase>();
+        List<Integer> sectionIndexes = new ArrayList<Integer>();
+        for (EvidenceCase evidenceCase : cases) {
+            for (int i=0; i<evidenceCase.sorters.size(); i++) {
+                sectionCases.add(evidenceCase);
+                sectionIndexes.add(i);
+            }
+        }
+        if (sectionCases.isEmpty()) {
+            return;
+        }
+        
+        // Start the worker processes which build the tables of the files, if configured, building them on the threads of this run otherwise
+        SectionWorkerPool workerPool = null;
+        if (settings.getWorkerProcesses() > 0) {
+            progressPanel.updateStatusLabel("Starting " + settings.getWorkerProcesses() + " worker processes...");
+            try {
+                workerPool = SectionWorkerPool.start(settings.getWorkerProcesses());
+            } catch (IOException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Failed to start worker processes, adding tables in this process", ex);
+            }
+            progressPanel.updateStatusLabel("Adding tables to " + documentName + "...");
+        }
+        final SectionWorkerPool workers = workerPool;
+        
+        // Open the cache of the tables built for earlier reports, if kept, building every table otherwise
+        FragmentCache fragmentCache = null;
+        if (workers == null && settings.getFragmentCacheSize() > 0) {
+            try {
+                fragmentCache = FragmentCache.open(new File(Case.getCurrentCase().getCacheDirectory(), "ForensicReport"), settings.getFragmentCacheSize() * 1024L * 1024L);
+            } catch (IOException ex) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Failed to open the table cache, adding every table", ex);
+            }
+        }
+        final FragmentCache cache = fragmentCache;
+        final String styleSet = ForensicReportSection.styleSet(templatePath, tableColour, fontColour);
+        
+        // Build one section at a time if the heap is running low, so that only the section being merged and the next one are held in memory
+        int threads = heapGuard.sample("adding tables") ? 1 : Math.min(sectionCases.size(), workers != null ? workers.size() : Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<ForensicReportSection>> futures = new ArrayList<Future<ForensicReportSection>>();
+        try {
+            for (int j=0; j<sectionCases.size(); j++) {
+                final EvidenceCase evidenceCase = sectionCases.get(j);
+                final int i = sectionIndexes.get(j);
+                final EvidenceSorter sorter = evidenceCase.sorters.get(i);
+                final TagName tagName = evidenceCase.sectionTagNames.get(i);
+                final long artifactTagCount = evidenceCase.artifactTagCounts.get(i);
+                final String caseCaption = cases.size() > 1 && i == 0 ? "Evidence from " + evidenceCase.name : null;
+                final String ofCase = cases.size() > 1 ? " of case " + evidenceCase.name : "";
+                futures.add(executor.submit(new Callable<ForensicReportSection>() {
+                    @Override
+                    public ForensicReportSection call() throws IOException, TskCoreException, InterruptedException {
+                        long allocationMark = heapGuard.mark();
+                        try {
+                            ForensicReportSection section;
+                            if (workers != null) {
+                                
+                                // Build the tables of the files in a worker process, the tagged results are added here as they are read from the case
+                                section = workers.render(sorter, settings.getFields(), caseCaption, evidenceCase.evidenceAttributes, evidenceCase.images);
+                                for (int k=0; k<sorter.size(); k++) {
+                                    progressPanel.increment();
+                                }
+                            } else {
+                                section = new ForensicReportSection(settings.getFields(), evidenceCase.evidenceAttributes, evidenceCase.images);
+                                if (cache != null) {
+                                    section.setCache(cache, evidenceCase.directory, styleSet);
+                                }
+                            
+                                // Caption the evidence of every case, if the report has several cases
+                                if (caseCaption != null) {
+                                    section.addCaption(caseCaption);
+                                }
+                                EvidenceRecord record = new EvidenceRecord();
+                                String parentPath = null;
+                                try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+                                    while (sorted.next(record)) {
+                                
+                                        // Stop building the section if the user clicks cancel
+                                        if (progressPanel.getStatus() == ReportProgressPanel.ReportStatus.CANCELED) {
+                                            break;
+                                        }
+                                
+                                        // Caption the first table of every parent directory, if grouped by parent directory
+                                        String groupCaption = null;
+                                        if (sorter.isGroupedByParent() && !record.parentPath.equals(parentPath)) {
+                                            parentPath = record.parentPath;
+                                            groupCaption = "Files in \"" + parentPath + "\"";
+                                        }
+                                
+                                        // Build the Table for this file with the stored metadata information
+                                        section.buildTables(record, groupCaption);
+                                        heapGuard.check("adding tables");
+                                
+                                        // Increment the progressPanel every time a file is processed
+                                        progressPanel.increment();
+                                    }
+                                }
+                            }
+                        
+                            // Build a table for every tagged result, reading the results a page at a time
+                            if (artifactTagCount > 0) {
+                                ArtifactTagPager pager = new ArtifactTagPager(evidenceCase.skCase, tagName, ArtifactTagPager.PAGE_SIZE);
+                                List<ArtifactTagPager.Entry> page = pager.nextPage();
+                                while (!page.isEmpty() && progressPanel.getStatus() != ReportProgressPanel.ReportStatus.CANCELED) {
+                                    for (ArtifactTagPager.Entry entry : page) {
+                                        section.buildArtifactTable(entry);
+                                        progressPanel.increment();
+                                    }
+                                    page = pager.nextPage();
+                                }
+                            }
+                            
+                            // Note the files left out of the section in the report, as the scratch workspace was out of its budget
+                            if (sorter.getSkipped() > 0) {
+                                section.addCaption("Note: " + sorter.getSkipped() + " files tagged under \"" + tagName.getDisplayName() + "\"" + ofCase
+                                        + " were left out of this report, as the scratch space for sorting the files was full.");
+                            }
+                            return section;
+                        } finally {
+                            heapGuard.addAllocation(allocationMark);
+                        }
+                    }
+                }));
+            }
+            for (int i=0; i<futures.size(); i++) {
+                try {
+                    splice.add(futures.get(i).get());
+                } catch (ExecutionException ex) {
+                    String tagName = sectionCases.get(i).sectionTagNames.get(sectionIndexes.get(i)).getDisplayName();
+                    Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Error adding \"" + tagName + "\" files of case " + sectionCases.get(i).name, ex.getCause());
+                    JOptionPane.showMessageDialog(null, "Error adding the \"" + tagName + "\" files of case " + sectionCases.get(i).name + ".", "File Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+                
+                // Release the section once merged, as the future holds it until the futures are dropped
+                futures.set(i, null);
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.WARNING, "Interrupted while adding files", ex);
+            Thread.currentThread().interrupt();
+            for (Future<ForensicReportSection> future : futures) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            if (workers != null) {
+                workers.close();
+            }
+            if (cache != null) {
+                Logger.getLogger(ForensicReportRun.class.getName()).log(Level.INFO, "Forensic Report {0}: {1}", new Object[]{documentName, cache.summary()});
+            }
+        }
+    }
+    
+    /**
+     * OpenDocument Method
+     * Seventh Mutator Method.
+     * 
+     * Opens a new document object for the given forensic expert witness report.
+     * 
+     * @param path
+     * @return document, or null if it could not be opened
+     */
+    private static ForensicReportDocument openDocument(String path) {
+        if (path == null) {
+            return null;
+        }
+        try (FileInputStream in = new FileInputStream(path)) {
+            return new ForensicReportDocument(in);
+        } catch (IOException e) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, "Failed to open " + path, e);
+            return null;
+        }
+    }
+    
+    /**
+     * AddToCase Method
+     * Eighth Mutator Method.
+     * 
+     * Add the generated report to the Case, so it is shown in the tree.
+     * 
+     * @param baseReportDir
+     * @param reportName
+     * @param relativeFilePath
+     */
+    void addToCase(String baseReportDir, String reportName, String relativeFilePath) {
+        try {
+            String fullpath = Paths.get(baseReportDir).normalize().toString();
+            Case.getCurrentCase().addReport(fullpath, reportName, relativeFilePath);
+        } catch (TskCoreException ex) {
+            Logger.getLogger(ForensicReportRun.class.getName()).log(Level.SEVERE, null, ex);
+            JOptionPane.showMessageDialog(null, "Unable to add report to report tree", "File Tree Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    /**
+     * GetOmittedFiles Method
+     * First Accessor Method.
+     * 
+     * @return the amount of tagged files left out of the report, as the scratch workspace was out of its budget
+     */
+    long getOmittedFiles() {
+        return omittedFiles.get();
+    }
+    
+    // Further Variable Declaration
+    private int heading_count;
+    private List<XWPFParagraph> paragraphlist;
+    private XWPFParagraph[] paragraphs;
+    private XWPFTableRow tableRow;
+    private CTTblWidth width;
+    // End of variables declaration
+}
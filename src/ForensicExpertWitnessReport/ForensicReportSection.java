@@ -0,0 +1,693 @@
+/*
+ * Class ForensicReportSection.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to build the tables of the files and results
+ * tagged under one tag name into a detached sub-document, away from the forensic expert
+ * witness report. As a section shares nothing with the report or with other
+ * sections, the sections of every tag name are built on their own threads and
+ * then merged after the evidence heading of the report in one step. The tables of
+ * the files of a section can also be built by a SectionWorker in a process of
+ * its own and read back as the XML of the body it built, which is copied into the
+ * report together with the section. Given a FragmentCache, the XML of the
+ * table of every file is kept, and copied in as it was when the same file is
+ * reported again unchanged, into a report of the same template, colours and styles.
+ *
+ * The tables are not formatted cell by cell. The colours, font and spacing of the
+ * tables are held once, as styles added to the report by addStyles, and every
+ * table and paragraph of a section only refers to its style by id.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import org.apache.poi.xwpf.usermodel.ParagraphAlignment;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
+import org.sleuthkit.autopsy.coreutils.Logger;
+import org.sleuthkit.datamodel.BlackboardAttribute;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBody;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBorder;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTFonts;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTShd;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSpacing;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblBorders;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblStylePr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblWidth;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STBorder;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STShd;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTblStyleOverrideType;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTblWidth;
+
+class ForensicReportSection {
+
+    // Declare Instance Variables
+    static final String TABLE_STYLE = "ForensicEvidenceTable";
+    static final String HEADING_STYLE = "ForensicEvidenceHeading";
+    static final String VALUE_STYLE = "ForensicEvidenceValue";
+    static final String CAPTION_STYLE = "ForensicEvidenceCaption";
+    private static final byte[] FIRST_COLUMN_LOOK = {0x00, (byte) 0x80};
+    private static final String WORDML = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private final Set<EvidenceField> fields;
+    private final EvidenceAttributes evidenceAttributes;
+    private final EvidenceImages images;
+    private final String[] extendedValues = new String[EvidenceField.values().length];
+    private final XWPFDocument fragment;
+    private final List<XmlObject> parts = new ArrayList<XmlObject>();
+    private FragmentCache cache;
+    private String cacheScope;
+    private String cacheStyleSet;
+    private XWPFTable table;
+    private XWPFRun run;
+    private XWPFRun run2;
+    private XWPFParagraph paragraph;
+    private XWPFParagraph paragraph2;
+    private CTTblWidth width;
+
+    /**
+     * Constructor for objects of class ForensicReportSection
+     * First and only Constructor.
+     *
+     * @param fields the fields shown in every table, at least one
+     * @param evidenceAttributes the extended fields of every tagged file, or null if none are shown
+     * @param images the images reserved for the report, each added as the table of its file is built, or null if none are
+     */
+    ForensicReportSection(Set<EvidenceField> fields, EvidenceAttributes evidenceAttributes, EvidenceImages images) {
+        this.fields = fields;
+        this.evidenceAttributes = evidenceAttributes;
+        this.images = images;
+        this.fragment = new XWPFDocument();
+    }
+
+    /**
+     * Build Tables Method
+     * First mutator method.
+     *
+     * Builds table using given information about tagged Autopsy file, at the end
+     * of the section. Every table is preceded by a gap and followed by its comment.
+     *
+     * @param record
+     * @param groupCaption caption to add before the table, or null for none
+     */
+    void buildTables(EvidenceRecord record, String groupCaption) {
+        for (EvidenceField field : fields) {
+            if (field.isExtended()) {
+                extendedValues[field.ordinal()] = evidenceAttributes == null ? null : evidenceAttributes.get(field, record.objectId);
+            }
+        }
+        buildTables(record, groupCaption, extendedValues, images == null ? null : images.get(record.objectId));
+    }
+
+    /**
+     * Build Tables Method
+     * Second mutator method.
+     *
+     * Builds table using given information about tagged Autopsy file, with the
+     * given values of its extended fields and picture rather than those held by
+     * the section, such as when built by a SectionWorker.
+     *
+     * @param record
+     * @param groupCaption caption to add before the table, or null for none
+     * @param extendedValues the value of every extended field shown, by the ordinal of the field
+     * @param picture the image of the file added into the report, or null if it has none
+     */
+    void buildTables(EvidenceRecord record, String groupCaption, String[] extendedValues, EvidenceImages.Picture picture)
+    {
+        String filename = record.fileName;
+        String Path = record.path;
+        String md5hash = record.md5hash;
+        String comment = record.comment;
+
+        // Caption the table with its group
+        if (groupCaption != null) {
+            addCaption(groupCaption);
+        }
+
+        // Copy in the table kept for the file, unless it has a picture, as its relationship is only valid in one report
+        String cacheKey = null;
+        XmlObject lastElement = null;
+        if (cache != null && picture == null) {
+            cacheKey = cache.key(cacheScope, cacheStyleSet, fields, record, extendedValues);
+            byte[] cached = cache.get(cacheKey);
+            if (cached != null && copyCached(cached)) {
+                return;
+            }
+            XmlCursor last = fragment.getDocument().getBody().newCursor();
+            try {
+                lastElement = last.toLastChild() ? last.getObject() : null;
+            } finally {
+                last.dispose();
+            }
+        }
+
+        createTable();
+
+        // Create a row for every field shown, the first row of the table already exists
+        XWPFTableRow tableRow = null;
+        for (EvidenceField field : fields) {
+            if (tableRow == null) {
+                tableRow = table.getRow(0);
+                configureTable(tableRow, 0, field.toString(), HEADING_STYLE, false);
+                tableRow.addNewTableCell();
+
+                // Set row 1 column 1 width
+                width = tableRow.getCell(0).getCTTc().addNewTcPr().addNewTcW();
+                width.setW(BigInteger.valueOf((1*1440)+85));
+                width.setType(STTblWidth.DXA);
+
+                // Set row 1 column 2 width
+                width = tableRow.getCell(1).getCTTc().addNewTcPr().addNewTcW();
+                width.setW(BigInteger.valueOf((5*1440)+938-85));
+                width.setType(STTblWidth.DXA);
+            } else {
+                tableRow = table.createRow();
+                configureTable(tableRow, 0, field.toString(), HEADING_STYLE, false);
+            }
+
+            // Fill the 2nd column with the value of the field, only formatting the times which are shown
+            switch (field) {
+                case FILE_NAME:
+                    if (filename != null) {
+                        configureTable(tableRow, 1, filename, VALUE_STYLE, false);
+                    }
+                    break;
+                case FILE_PATH:
+                    if (Path != null) {
+                        configureTable(tableRow, 1, Path, VALUE_STYLE, false);
+                    }
+                    break;
+                case HASH:
+                    if (md5hash != null) {
+                        configureTable(tableRow, 1, md5hash, VALUE_STYLE, false);
+                    }
+                    else {
+                        configureTable(tableRow, 1, "Hashes have not been calculated. Please configure and run an appropriate ingest module.", VALUE_STYLE, false);
+                    }
+                    break;
+                case CREATED_TIME:
+                    configureTable(tableRow, 1, record.getCreatedTime(), VALUE_STYLE, false);
+                    break;
+                case MODIFIED_TIME:
+                    configureTable(tableRow, 1, record.getModifiedTime(), VALUE_STYLE, false);
+                    break;
+                case ACCESSED_TIME:
+                    configureTable(tableRow, 1, record.getAccessedTime(), VALUE_STYLE, false);
+                    break;
+                default:
+                    // Join the extended field of the file, held by object id
+                    String value = extendedValues[field.ordinal()];
+                    if (value != null) {
+                        configureTable(tableRow, 1, value, VALUE_STYLE, false);
+                    }
+                    break;
+            }
+
+            // Set the width of the 2nd column of the time rows
+            if (field.isTime() && tableRow != table.getRow(0)) {
+                width = tableRow.getCell(1).getCTTc().addNewTcPr().addNewTcW();
+                width.setW(BigInteger.valueOf((((5*1440)+938-85) / 2) + 720));
+                width.setType(STTblWidth.DXA);
+            }
+        }
+
+        // Create a last row of table, if the file is listed with its tag names // Tag Names
+        if (record.tagNames != null) {
+            XWPFTableRow tableRowSeven = table.createRow();
+            configureTable(tableRowSeven, 0, "Tag Names", HEADING_STYLE, false);
+            configureTable(tableRowSeven, 1, record.tagNames, VALUE_STYLE, false);
+        }
+
+        // Create a last row of table, if the file is an image added into the report // Image
+        if (picture != null) {
+            XWPFTableRow imageRow = table.createRow();
+            configureTable(imageRow, 0, "Image", HEADING_STYLE, false);
+            XWPFParagraph imageParagraph = imageRow.getCell(1).getParagraphs().get(0);
+            imageParagraph.setStyle(VALUE_STYLE);
+            picture.addTo(imageParagraph.createRun());
+        }
+
+        // Create paragraph after table // Comment
+        paragraph = fragment.createParagraph();
+        if (comment != null && !(comment.isEmpty())) {
+            run = paragraph.createRun();
+            run.setText(comment);
+        }
+        if ((comment == null || comment.isEmpty()) && filename != null) {
+            run = paragraph.createRun();
+            run.setText("This table shows information about \"" +filename + "\"");
+        }
+
+        // Keep the gap, table and comment just built
+        if (cacheKey != null) {
+            keepCached(cacheKey, lastElement);
+        }
+    }
+
+    /**
+     * WriteBody Method
+     * First Accessor Method.
+     *
+     * Writes the paragraphs and tables of the section as the XML of its body,
+     * without the rest of the docx, to be parsed and added to another section by
+     * append. The namespace of the body is declared once, with the prefix the
+     * report declares it with, so that it is not declared again on every table
+     * copied into the report.
+     *
+     * @param out
+     * @throws IOException
+     */
+    void writeBody(OutputStream out) throws IOException {
+        CTBody body = fragment.getDocument().getBody();
+        if (body.isSetSectPr()) {
+            body.unsetSectPr();
+        }
+        XmlOptions options = new XmlOptions();
+        options.setSaveSuggestedPrefixes(Collections.singletonMap(WORDML, "w"));
+        options.setSaveAggressiveNamespaces();
+        body.save(out, options);
+    }
+
+    /**
+     * BuildArtifactTable Method
+     * Third mutator method.
+     *
+     * Builds a table for a tagged blackboard artifact at the end of the section,
+     * showing the type of the result, the file it was found in and every attribute
+     * of the artifact. The table is preceded by a gap and followed by its comment.
+     *
+     * @param entry
+     */
+    void buildArtifactTable(ArtifactTagPager.Entry entry) {
+        String resultType = entry.artifact == null ? null : entry.artifact.getDisplayName();
+
+        createTable();
+
+        // Create first row & 2nd column of table // Result Type
+        XWPFTableRow tableRow = table.getRow(0);
+        configureTable(tableRow, 0, "Result Type", HEADING_STYLE, false);
+        tableRow.addNewTableCell();
+        if (resultType != null) {
+            configureTable(tableRow, 1, resultType, VALUE_STYLE, false);
+        }
+
+        // Set row 1 column 1 width
+        width = tableRow.getCell(0).getCTTc().addNewTcPr().addNewTcW();
+        width.setW(BigInteger.valueOf((1*1440)+85));
+        width.setType(STTblWidth.DXA);
+
+        // Set row 1 column 2 width
+        width = tableRow.getCell(1).getCTTc().addNewTcPr().addNewTcW();
+        width.setW(BigInteger.valueOf((5*1440)+938-85));
+        width.setType(STTblWidth.DXA);
+
+        // Create second & third rows of table // Source File & Source Path
+        tableRow = table.createRow();
+        configureTable(tableRow, 0, "Source File", HEADING_STYLE, false);
+        if (entry.sourceName != null) {
+            configureTable(tableRow, 1, entry.sourceName, VALUE_STYLE, false);
+        }
+        tableRow = table.createRow();
+        configureTable(tableRow, 0, "Source Path", HEADING_STYLE, false);
+        if (entry.sourcePath != null) {
+            configureTable(tableRow, 1, entry.sourcePath, VALUE_STYLE, false);
+        }
+
+        // Create a row for every attribute of the artifact
+        for (BlackboardAttribute attribute : entry.attributes) {
+            String value = attribute.getDisplayString();
+            tableRow = table.createRow();
+            configureTable(tableRow, 0, attribute.getAttributeType().getDisplayName(), HEADING_STYLE, false);
+            if (value != null) {
+                configureTable(tableRow, 1, value, VALUE_STYLE, false);
+            }
+        }
+
+        // Create paragraph after table // Comment
+        paragraph = fragment.createParagraph();
+        if (entry.comment != null && !(entry.comment.isEmpty())) {
+            run = paragraph.createRun();
+            run.setText(entry.comment);
+        }
+        else if (resultType != null) {
+            run = paragraph.createRun();
+            run.setText("This table shows information about a \"" + resultType + "\" result" + (entry.sourceName == null ? "" : " in \"" + entry.sourceName + "\""));
+        }
+    }
+
+    /**
+     * AddCaption Method
+     * Fourth Mutator Method.
+     *
+     * Adds a caption at the end of the section, such as before the tables of a
+     * group of files or of a case.
+     *
+     * @param text
+     */
+    void addCaption(String text) {
+        XWPFParagraph caption = fragment.createParagraph();
+        caption.setStyle(CAPTION_STYLE);
+        caption.createRun().setText(text);
+    }
+
+    /**
+     * MergeInto Method
+     * Fifth Mutator Method.
+     *
+     * Copies every paragraph and table of the section to the given position of the
+     * report, every part added by append and then the body of the section each in
+     * a single copy, leaving the cursor after the copied section. The lists of
+     * paragraphs and tables of the report are not updated, see ForensicReportDocument.
+     *
+     * @param destination
+     */
+    void mergeInto(XmlCursor destination) {
+        for (XmlObject part : parts) {
+            XmlCursor source = part.newCursor();
+            try {
+                source.copyXmlContents(destination);
+            } finally {
+                source.dispose();
+            }
+        }
+        parts.clear();
+        CTBody body = fragment.getDocument().getBody();
+        if (body.isSetSectPr()) {
+            body.unsetSectPr();
+        }
+        XmlCursor source = body.newCursor();
+        try {
+            source.copyXmlContents(destination);
+        } finally {
+            source.dispose();
+        }
+    }
+
+    /**
+     * Append Method
+     * Twelfth Mutator Method.
+     *
+     * Adds the paragraphs and tables of a body written by writeBody, such as one
+     * built by a SectionWorker from the next shard of the files, after the parts
+     * appended before it. The parts are not copied into the section but straight
+     * into the report by mergeInto, ahead of the tables built by the section
+     * itself, so a section is only appended to before it builds any table.
+     *
+     * @param body the body as parsed by XmlObject.Factory
+     */
+    void append(XmlObject body) {
+        parts.add(body);
+    }
+
+    /**
+     * CreateTable Method
+     * Sixth Mutator Method.
+     *
+     * Creates a table of two columns at the end of the section, preceded by a gap,
+     * referring to the table style for its borders and the shading of its first column.
+     */
+    private void createTable() {
+
+        // Create gap before each table
+        paragraph2 = fragment.createParagraph();
+        run2 = paragraph2.createRun();
+        run2.setText("");
+
+        table = fragment.createTable();
+
+        // Refer to the table style in place of the borders POI gives every new table, shading the first column
+        CTTblPr tablePr = table.getCTTbl().getTblPr();
+        if (tablePr.isSetTblBorders()) {
+            tablePr.unsetTblBorders();
+        }
+        tablePr.addNewTblStyle().setVal(TABLE_STYLE);
+        tablePr.addNewTblLook().setVal(FIRST_COLUMN_LOOK);
+
+        // Set table width to 100%, 1 inch = 1440
+        width = tablePr.isSetTblW() ? tablePr.getTblW() : tablePr.addNewTblW();
+        width.setType(STTblWidth.DXA);
+        width.setW(BigInteger.valueOf((6*1440)+938));
+        table.getCTTbl().addNewTblGrid().addNewGridCol().setW(BigInteger.valueOf((1*1440)+85));
+        table.getCTTbl().getTblGrid().addNewGridCol().setW(BigInteger.valueOf((5*1440)+938-85));
+    }
+
+    /**
+     * ConfigureTable Method
+     * Seventh Mutator Method.
+     *
+     * Sets the text of a row and column of a table, in the given paragraph style.
+     *
+     * @param row
+     * @param column
+     * @param title
+     * @param style the id of one of the styles added by addStyles
+     * @param center
+     */
+    static void configureTable(XWPFTableRow row, int column, String title, String style, boolean center) {
+        XWPFTableCell cell = row.getCell(column);
+
+        // Remove any existing text, keeping the first paragraph
+        for (int x=cell.getParagraphs().size() - 1; x>0; x--) {
+            cell.removeParagraph(x);
+        }
+        XWPFParagraph paragraph = cell.getParagraphs().get(0);
+        for (int x=paragraph.getRuns().size() - 1; x>=0; x--) {
+            paragraph.removeRun(x);
+        }
+
+        // Set the style and text of the paragraph
+        paragraph.setStyle(style);
+        paragraph.createRun().setText(title);
+
+        // Align text to the center accordingly
+        if (center) {
+            paragraph.setAlignment(ParagraphAlignment.CENTER);
+        }
+    }
+
+    /**
+     * AddStyles Method
+     * Eighth Mutator Method.
+     *
+     * Adds the styles the tables refer to into the styles of the report, replacing
+     * them if the report already has them: the table style, shading the first column
+     * in the table colour, and the paragraph styles of the headings, values and captions.
+     *
+     * @param document the report
+     * @param tableColour
+     * @param fontColour
+     */
+    static void addStyles(XWPFDocument document, String tableColour, String fontColour) {
+        XWPFStyles styles = document.createStyles();
+
+        // Set text colour to black for lighter backgrounds
+        if (tableColour.equalsIgnoreCase("00ffff") || tableColour.equalsIgnoreCase("ffff00")) {
+            fontColour = "000000";
+        }
+
+        // Table style, with single borders and the first column shaded in the table colour
+        CTStyle tableStyle = newStyle(STStyleType.TABLE, TABLE_STYLE, "Forensic Evidence Table", null);
+        CTTblBorders borders = tableStyle.addNewTblPr().addNewTblBorders();
+        setBorder(borders.addNewTop());
+        setBorder(borders.addNewLeft());
+        setBorder(borders.addNewBottom());
+        setBorder(borders.addNewRight());
+        setBorder(borders.addNewInsideH());
+        setBorder(borders.addNewInsideV());
+        CTTblStylePr firstColumn = tableStyle.addNewTblStylePr();
+        firstColumn.setType(STTblStyleOverrideType.FIRST_COL);
+        CTShd shading = firstColumn.addNewTcPr().addNewShd();
+        shading.setVal(STShd.CLEAR);
+        shading.setColor("auto");
+        shading.setFill(tableColour);
+        putStyle(styles, tableStyle);
+
+        // Paragraph style of the values, Calibri 10 in single line spacing
+        CTStyle valueStyle = newStyle(STStyleType.PARAGRAPH, VALUE_STYLE, "Forensic Evidence Value", null);
+        CTSpacing spacing = valueStyle.addNewPPr().addNewSpacing();
+        spacing.setAfter(BigInteger.valueOf(0));
+        spacing.setBefore(BigInteger.valueOf(0));
+        spacing.setLine(new BigInteger("240"));
+        setFont(valueStyle.addNewRPr(), "Calibri", 10, "000000", false);
+        putStyle(styles, valueStyle);
+
+        // Paragraph style of the headings in the first column, as the values but bold in the font colour
+        CTStyle headingStyle = newStyle(STStyleType.PARAGRAPH, HEADING_STYLE, "Forensic Evidence Heading", VALUE_STYLE);
+        setFont(headingStyle.addNewRPr(), null, 0, fontColour, true);
+        putStyle(styles, headingStyle);
+
+        // Paragraph style of the captions of the groups of tables
+        CTStyle captionStyle = newStyle(STStyleType.PARAGRAPH, CAPTION_STYLE, "Forensic Evidence Caption", null);
+        setFont(captionStyle.addNewRPr(), "Calibri", 11, "000000", true);
+        putStyle(styles, captionStyle);
+    }
+
+    /**
+     * StyleSet Method
+     * Second Accessor Method.
+     *
+     * Describes the look of the tables in a report: the template reported into, as
+     * its path, size and last modified time, the colours given to addStyles and the
+     * ids of the styles the tables refer to. Tables kept in a FragmentCache are only
+     * copied into a report of the same style set.
+     *
+     * @param templatePath
+     * @param tableColour
+     * @param fontColour
+     * @return the style set of the report
+     */
+    static String styleSet(String templatePath, String tableColour, String fontColour) {
+        File template = new File(templatePath);
+        return template.getAbsolutePath() + "|" + template.length() + "|" + template.lastModified()
+                + "|" + tableColour.toLowerCase() + "|" + fontColour.toLowerCase()
+                + "|" + TABLE_STYLE + "|" + HEADING_STYLE + "|" + VALUE_STYLE + "|" + CAPTION_STYLE;
+    }
+
+    /**
+     * SetCache Method
+     * Ninth Mutator Method.
+     *
+     * Keeps the table of every file built from now on in the given cache, and copies
+     * in the table kept for a file rather than building it again.
+     *
+     * @param cache
+     * @param scope the case of the files of the section, as object ids are only unique within a case
+     * @param styleSet the template, colours and styles of the report, see styleSet
+     */
+    void setCache(FragmentCache cache, String scope, String styleSet) {
+        this.cache = cache;
+        this.cacheScope = scope;
+        this.cacheStyleSet = styleSet;
+
+        // The section properties are dropped by mergeInto, so the tables are always added at the end of the body
+        CTBody body = fragment.getDocument().getBody();
+        if (body.isSetSectPr()) {
+            body.unsetSectPr();
+        }
+    }
+
+    /**
+     * CopyCached Method
+     * Tenth Mutator Method.
+     *
+     * @param cached the XML of a table kept by keepCached
+     * @return true if the table was copied in at the end of the section, false if the XML could not be read
+     */
+    private boolean copyCached(byte[] cached) {
+        XmlObject kept;
+        try {
+            kept = XmlObject.Factory.parse(new ByteArrayInputStream(cached));
+        } catch (XmlException | IOException ex) {
+            return false;
+        }
+        XmlCursor source = kept.newCursor();
+        XmlCursor destination = fragment.getDocument().getBody().newCursor();
+        try {
+            destination.toEndToken();
+            source.copyXmlContents(destination);
+        } finally {
+            source.dispose();
+            destination.dispose();
+        }
+        return true;
+    }
+
+    /**
+     * KeepCached Method
+     * Eleventh Mutator Method.
+     *
+     * Keeps every element after the given one, the gap, table and comment of a file, in the cache.
+     *
+     * @param key
+     * @param lastElement the last element of the section before the table was built, or null if there was none
+     */
+    private void keepCached(String key, XmlObject lastElement) {
+        XmlObject kept = XmlObject.Factory.newInstance();
+        XmlCursor destination = kept.newCursor();
+        XmlCursor source = lastElement == null ? fragment.getDocument().getBody().newCursor() : lastElement.newCursor();
+        try {
+            destination.toEndToken();
+            boolean found = lastElement == null ? source.toFirstChild() : source.toNextSibling();
+            while (found) {
+                source.copyXml(destination);
+                found = source.toNextSibling();
+            }
+        } finally {
+            source.dispose();
+            destination.dispose();
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            kept.save(out);
+            cache.put(key, out.toByteArray());
+        } catch (IOException ex) {
+            // The table is only built again the next time
+            Logger.getLogger(ForensicReportSection.class.getName()).log(Level.WARNING, "Failed to keep a table in the table cache", ex);
+        }
+    }
+
+    private static CTStyle newStyle(STStyleType.Enum type, String styleId, String name, String basedOn) {
+        CTStyle style = CTStyle.Factory.newInstance();
+        style.setType(type);
+        style.setStyleId(styleId);
+        style.addNewName().setVal(name);
+        if (basedOn != null) {
+            style.addNewBasedOn().setVal(basedOn);
+        }
+        return style;
+    }
+
+    private static void putStyle(XWPFStyles styles, CTStyle style) {
+        if (styles.styleExist(style.getStyleId())) {
+            styles.getStyle(style.getStyleId()).getCTStyle().set(style);
+        } else {
+            styles.addStyle(new XWPFStyle(style, styles));
+        }
+    }
+
+    private static void setFont(CTRPr rPr, String fontFamily, int fontSize, String colorRGB, boolean bold) {
+        if (fontFamily != null) {
+            CTFonts fonts = rPr.addNewRFonts();
+            fonts.setAscii(fontFamily);
+            fonts.setHAnsi(fontFamily);
+        }
+        if (bold) {
+            rPr.addNewB();
+        }
+        rPr.addNewColor().setVal(colorRGB);
+        if (fontSize > 0) {
+            rPr.addNewSz().setVal(BigInteger.valueOf(fontSize * 2));
+        }
+    }
+
+    private static void setBorder(CTBorder border) {
+        border.setVal(STBorder.SINGLE);
+        border.setSz(BigInteger.valueOf(4));
+        border.setSpace(BigInteger.valueOf(0));
+        border.setColor("auto");
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Class ForensicReportSettings.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to hold the advanced settings which control how
+ * tagged evidence is added into the forensic expert witness report, as chosen
+ * in ForensicReportConfigPanelAdvanced.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+class ForensicReportSettings implements Serializable {
+
+    // Declare Instance Variables
+    private static final long serialVersionUID = 1L;
+    private EvidenceOrder evidenceOrder = EvidenceOrder.TAGGED;
+    private boolean groupByParent = false;
+    private int sortMemoryThreshold = 100000;
+    private boolean reportFilesOnce = false;
+    private boolean includeArtifactTags = true;
+    private int heapThreshold = 80;
+    private int imageBudget = 512;
+    private ArrayList<String> otherCases = new ArrayList<String>();
+    private int workerProcesses = 0;
+    private int fragmentCacheSize = 0;
+    private int workspaceBudget = 4096;
+    private EnumSet<EvidenceField> fields = EnumSet.range(EvidenceField.FILE_NAME, EvidenceField.ACCESSED_TIME);
+
+    /**
+     * Constructor for objects of class ForensicReportSettings
+     * First Constructor.
+     *
+     * Creates the default settings.
+     *
+     */
+    ForensicReportSettings() {
+    }
+
+    /**
+     * Constructor for objects of class ForensicReportSettings
+     * Second Constructor.
+     *
+     * Creates a copy of the given settings.
+     *
+     * @param other
+     */
+    ForensicReportSettings(ForensicReportSettings other) {
+        this.evidenceOrder = other.evidenceOrder;
+        this.groupByParent = other.groupByParent;
+        this.sortMemoryThreshold = other.sortMemoryThreshold;
+        this.reportFilesOnce = other.reportFilesOnce;
+        this.includeArtifactTags = other.includeArtifactTags;
+        this.heapThreshold = other.heapThreshold;
+        this.imageBudget = other.imageBudget;
+        this.otherCases = new ArrayList<String>(other.getOtherCases());
+        this.workerProcesses = other.workerProcesses;
+        this.fragmentCacheSize = other.fragmentCacheSize;
+        this.workspaceBudget = other.workspaceBudget;
+        this.fields = EnumSet.copyOf(other.fields);
+    }
+
+    /**
+     * GetEvidenceOrder Method
+     * First Accessor Method.
+     *
+     * @return evidenceOrder
+     */
+    EvidenceOrder getEvidenceOrder() {
+        return evidenceOrder;
+    }
+
+    /**
+     * IsGroupByParent Method
+     * Second Accessor Method.
+     *
+     * @return groupByParent
+     */
+    boolean isGroupByParent() {
+        return groupByParent;
+    }
+
+    /**
+     * GetSortMemoryThreshold Method
+     * Third Accessor Method.
+     *
+     * Returns the amount of tagged files held in memory before they are sorted on disk.
+     *
+     * @return sortMemoryThreshold
+     */
+    int getSortMemoryThreshold() {
+        return sortMemoryThreshold;
+    }
+
+    /**
+     * IsReportFilesOnce Method
+     * Fourth Accessor Method.
+     *
+     * Returns whether files tagged under several of the selected tag names are only added once.
+     *
+     * @return reportFilesOnce
+     */
+    boolean isReportFilesOnce() {
+        return reportFilesOnce;
+    }
+
+    /**
+     * IsIncludeArtifactTags Method
+     * Fifth Accessor Method.
+     *
+     * Returns whether tagged results, such as keyword hits and web history, are added as well as tagged files.
+     *
+     * @return includeArtifactTags
+     */
+    boolean isIncludeArtifactTags() {
+        return includeArtifactTags;
+    }
+
+    /**
+     * GetFields Method
+     * Sixth Accessor Method.
+     *
+     * @return the fields shown in the table of every tagged file, in the order of the rows
+     */
+    Set<EvidenceField> getFields() {
+        return EnumSet.copyOf(fields);
+    }
+
+    /**
+     * HasExtendedFields Method
+     * Seventh Accessor Method.
+     *
+     * @return whether any extended field is shown in the tables
+     */
+    boolean hasExtendedFields() {
+        for (EvidenceField field : fields) {
+            if (field.isExtended()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IsFetched Method
+     * Eighth Accessor Method.
+     *
+     * Returns whether the given field must be retrieved for every tagged file,
+     * either because it is shown or because the tables are ordered or grouped by it.
+     *
+     * @param field
+     * @return whether the field is retrieved
+     */
+    boolean isFetched(EvidenceField field) {
+        if (fields.contains(field)) {
+            return true;
+        }
+        switch (field) {
+            case FILE_PATH:
+                return groupByParent || evidenceOrder == EvidenceOrder.PATH;
+            case HASH:
+                return evidenceOrder == EvidenceOrder.HASH;
+            case MODIFIED_TIME:
+                return evidenceOrder == EvidenceOrder.MODIFIED_TIME;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * GetHeapThreshold Method
+     * Ninth Accessor Method.
+     *
+     * Returns the percentage of the maximum heap above which a report uses less memory, see HeapGuard.
+     *
+     * @return heapThreshold
+     */
+    int getHeapThreshold() {
+        return heapThreshold;
+    }
+
+    /**
+     * GetImageBudget Method
+     * Tenth Accessor Method.
+     *
+     * Returns the megabytes of images which may be added into a report, see EvidenceImages.
+     *
+     * @return imageBudget
+     */
+    int getImageBudget() {
+        return imageBudget;
+    }
+
+    /**
+     * GetOtherCases Method
+     * Eleventh Accessor Method.
+     *
+     * Returns the directories of the other single-user cases whose tagged evidence is
+     * added into the report after that of the current case, see EvidenceCase.
+     *
+     * @return otherCases
+     */
+    List<String> getOtherCases() {
+        return otherCases == null ? new ArrayList<String>() : new ArrayList<String>(otherCases);
+    }
+
+    /**
+     * GetWorkerProcesses Method
+     * Twelfth Accessor Method.
+     *
+     * Returns the amount of processes the tables of the files are built in, or 0 to
+     * build them in Autopsy, see SectionWorkerPool.
+     *
+     * @return workerProcesses
+     */
+    int getWorkerProcesses() {
+        return workerProcesses;
+    }
+
+    /**
+     * GetFragmentCacheSize Method
+     * Thirteenth Accessor Method.
+     *
+     * Returns the megabytes of tables kept in the cache directory of the case to be
+     * copied into the next report, or 0 to keep none, see FragmentCache. None are
+     * kept by default, as keeping the tables slows down the first report.
+     *
+     * @return fragmentCacheSize
+     */
+    int getFragmentCacheSize() {
+        return fragmentCacheSize;
+    }
+
+    /**
+     * GetWorkspaceBudget Method
+     * Fourteenth Accessor Method.
+     *
+     * Returns the megabytes of scratch files a report may write under the temporary
+     * directory of the case, or 0 for no limit, see ReportWorkspace.
+     *
+     * @return workspaceBudget
+     */
+    int getWorkspaceBudget() {
+        return workspaceBudget;
+    }
+
+    /**
+     * SetEvidenceOrder Method
+     * First Mutator Method.
+     *
+     * @param evidenceOrder
+     */
+    void setEvidenceOrder(EvidenceOrder evidenceOrder) {
+        this.evidenceOrder = evidenceOrder;
+    }
+
+    /**
+     * SetGroupByParent Method
+     * Second Mutator Method.
+     *
+     * @param groupByParent
+     */
+    void setGroupByParent(boolean groupByParent) {
+        this.groupByParent = groupByParent;
+    }
+
+    /**
+     * SetSortMemoryThreshold Method
+     * Third Mutator Method.
+     *
+     * @param sortMemoryThreshold
+     */
+    void setSortMemoryThreshold(int sortMemoryThreshold) {
+        this.sortMemoryThreshold = sortMemoryThreshold;
+    }
+
+    /**
+     * SetReportFilesOnce Method
+     * Fourth Mutator Method.
+     *
+     * @param reportFilesOnce
+     */
+    void setReportFilesOnce(boolean reportFilesOnce) {
+        this.reportFilesOnce = reportFilesOnce;
+    }
+
+    /**
+     * SetIncludeArtifactTags Method
+     * Fifth Mutator Method.
+     *
+     * @param includeArtifactTags
+     */
+    void setIncludeArtifactTags(boolean includeArtifactTags) {
+        this.includeArtifactTags = includeArtifactTags;
+    }
+
+    /**
+     * SetFields Method
+     * Sixth Mutator Method.
+     *
+     * Sets the fields shown in the table of every tagged file. The file name is
+     * shown if no field is chosen, as every table needs at least one row.
+     *
+     * @param fields
+     */
+    void setFields(Set<EvidenceField> fields) {
+        this.fields = fields.isEmpty() ? EnumSet.of(EvidenceField.FILE_NAME) : EnumSet.copyOf(fields);
+    }
+
+    /**
+     * SetHeapThreshold Method
+     * Seventh Mutator Method.
+     *
+     * @param heapThreshold
+     */
+    void setHeapThreshold(int heapThreshold) {
+        this.heapThreshold = heapThreshold;
+    }
+
+    /**
+     * SetImageBudget Method
+     * Eighth Mutator Method.
+     *
+     * @param imageBudget
+     */
+    void setImageBudget(int imageBudget) {
+        this.imageBudget = imageBudget;
+    }
+
+    /**
+     * SetOtherCases Method
+     * Ninth Mutator Method.
+     *
+     * @param otherCases
+     */
+    void setOtherCases(List<String> otherCases) {
+        this.otherCases = new ArrayList<String>(otherCases);
+    }
+
+    /**
+     * SetWorkerProcesses Method
+     * Tenth Mutator Method.
+     *
+     * @param workerProcesses
+     */
+    void setWorkerProcesses(int workerProcesses) {
+        this.workerProcesses = workerProcesses;
+    }
+
+    /**
+     * SetFragmentCacheSize Method
+     * Eleventh Mutator Method.
+     *
+     * @param fragmentCacheSize
+     */
+    void setFragmentCacheSize(int fragmentCacheSize) {
+        this.fragmentCacheSize = fragmentCacheSize;
+    }
+
+    /**
+     * SetWorkspaceBudget Method
+     * Twelfth Mutator Method.
+     *
+     * @param workspaceBudget
+     */
+    void setWorkspaceBudget(int workspaceBudget) {
+        this.workspaceBudget = workspaceBudget;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Class FragmentCache.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to keep the table built for every tagged file on
+ * disk, in the cache directory of the case, so that a report generated again
+ * copies the tables of unchanged files in as they were rather than building them
+ * again. A table is kept as the XML of its gap, table and comment, under a digest
+ * of everything it shows: the case and object id of the file, its record, such
+ * as its hash and comment, the fields shown and the values of its extended fields.
+ * The key also holds the style set of the report, its template, table and font
+ * colours and the ids of its styles, so that a table is never copied into a report
+ * which looks different from the one it was built for.
+ *
+ * The cache is limited to a total size, past which the tables used least recently
+ * are removed. As the sections of a report are built on several threads, the cache
+ * is shared by every thread of the run.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+class FragmentCache {
+
+    // Declare Instance Variables
+    private static final int FORMAT = 2;
+    private static final String SUFFIX = ".xml";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private final File directory;
+    private final long capacity;
+    private final Map<String, Long> entries = new LinkedHashMap<String, Long>(1024, 0.75f, true);
+    private long size = 0;
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * Constructor for objects of class FragmentCache
+     * First and only Constructor.
+     *
+     * @param directory
+     * @param capacity the total bytes of the tables kept
+     */
+    private FragmentCache(File directory, long capacity) {
+        this.directory = directory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Open Method
+     * First Mutator Method.
+     *
+     * Opens the cache in the given directory, ordering the tables already kept by
+     * when they were last used, and removing any table left partly written.
+     *
+     * @param directory
+     * @param capacity the total bytes of the tables kept
+     * @return cache
+     * @throws IOException if the directory could not be created
+     */
+    static FragmentCache open(File directory, long capacity) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        FragmentCache cache = new FragmentCache(directory, capacity);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            Arrays.sort(files, new Comparator<File>() {
+                @Override
+                public int compare(File a, File b) {
+                    return Long.compare(a.lastModified(), b.lastModified());
+                }
+            });
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SUFFIX)) {
+                    cache.entries.put(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                    cache.size += file.length();
+                } else if (name.endsWith(PARTIAL_SUFFIX)) {
+                    // Left by a run which did not finish writing a table
+                    file.delete();
+                }
+            }
+        }
+        synchronized (cache) {
+            cache.evict();
+        }
+        return cache;
+    }
+
+    /**
+     * Key Method
+     * First Accessor Method.
+     *
+     * @param scope the case of the file, as object ids are only unique within a case
+     * @param styleSet the template, colours and styles of the report, see ForensicReportSection.styleSet
+     * @param fields the fields shown in the table
+     * @param record
+     * @param extendedValues the value of every extended field shown, by the ordinal of the field
+     * @return the key of the table of the given file
+     */
+    String key(String scope, String styleSet, Set<EvidenceField> fields, EvidenceRecord record, String[] extendedValues) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(new ByteArrayOutputStream(0), digest))) {
+            out.writeInt(FORMAT);
+            out.writeUTF(scope);
+            out.writeUTF(styleSet);
+            out.writeUTF(TimeZone.getDefault().getID());
+            out.writeInt(SectionWorker.mask(fields));
+            record.writeTo(out);
+            for (EvidenceField field : fields) {
+                if (field.isExtended()) {
+                    EvidenceRecord.writeString(out, extendedValues[field.ordinal()]);
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] hash = digest.digest();
+        char[] key = new char[hash.length * 2];
+        for (int i=0; i<hash.length; i++) {
+            key[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            key[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(key);
+    }
+
+    /**
+     * Get Method
+     * Second Mutator Method.
+     *
+     * Reads the table kept under the given key, marking it as used most recently.
+     *
+     * @param key
+     * @return the XML of the table, or null if it is not kept
+     */
+    byte[] get(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses++;
+                return null;
+            }
+        }
+        File file = new File(directory, key + SUFFIX);
+        try {
+            byte[] fragment = Files.readAllBytes(file.toPath());
+            file.setLastModified(System.currentTimeMillis());
+            synchronized (this) {
+                hits++;
+            }
+            return fragment;
+        } catch (IOException ex) {
+            synchronized (this) {
+                remove(key);
+                misses++;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Put Method
+     * Third Mutator Method.
+     *
+     * Keeps the given table under the given key, removing the tables used least
+     * recently while the cache is larger than its capacity.
+     *
+     * @param key
+     * @param fragment the XML of the table
+     * @throws IOException
+     */
+    void put(String key, byte[] fragment) throws IOException {
+        if (fragment.length > capacity) {
+            return;
+        }
+        File file = new File(directory, key + SUFFIX);
+        File partial = File.createTempFile("fragment", PARTIAL_SUFFIX, directory);
+        try {
+            Files.write(partial.toPath(), fragment);
+            Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial.toPath());
+        }
+        synchronized (this) {
+            remove(key);
+            entries.put(key, (long) fragment.length);
+            size += fragment.length;
+            evict();
+        }
+    }
+
+    /**
+     * Summary Method
+     * Second Accessor Method.
+     *
+     * @return the tables copied from and missing from the cache, and its size
+     */
+    synchronized String summary() {
+        return hits + " tables copied from the cache, " + misses + " built, cache of " + (size / (1024 * 1024)) + " MB";
+    }
+
+    private void remove(String key) {
+        Long removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (size > capacity && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            size -= entry.getValue();
+            eldest.remove();
+            new File(directory, entry.getKey() + SUFFIX).delete();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Class HeadingIndex.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to check how many times an evidence heading
+ * appears in a forensic expert witness report before a report is generated.
+ * The text of every paragraph of the document is read once, which is the slow
+ * part of finding a heading, so that each heading typed by the user is then
+ * checked against the held text without walking the document again.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.List;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+
+class HeadingIndex {
+
+    // Declare Instance Variables
+    private final String[] paragraphTexts;
+
+    /**
+     * Constructor for objects of class HeadingIndex
+     * First and only Constructor.
+     *
+     * Reads the text of every paragraph of the document, the same paragraphs
+     * which are searched for the evidence heading when a report is generated.
+     *
+     * @param document
+     */
+    HeadingIndex(XWPFDocument document) {
+        List<XWPFParagraph> paragraphs = document.getParagraphs();
+        paragraphTexts = new String[paragraphs.size()];
+        for (int i=0; i<paragraphTexts.length; i++) {
+            paragraphTexts[i] = paragraphs.get(i).getText();
+        }
+    }
+
+    /**
+     * Count Method
+     * First Accessor Method.
+     *
+     * @param heading
+     * @return the amount of paragraphs which contain the heading
+     */
+    int count(String heading) {
+        int count = 0;
+        for (String text : paragraphTexts) {
+            if (text != null && text.contains(heading)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Class HeapGuard.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to watch the heap while a forensic expert witness
+ * report is generated, so that a report which outgrows the heap switches to using
+ * less memory rather than ending Autopsy with an OutOfMemoryError. The heap is
+ * sampled every few hundred files, and once the used heap crosses the configured
+ * percentage of the maximum heap the guard stays in low memory mode for the rest
+ * of the run. The heap is measured as it was left by the last garbage collection
+ * of every heap pool, so that garbage waiting to be collected is not mistaken for
+ * a report outgrowing the heap. The highest heap usage seen and the bytes
+ * allocated by the threads of the run are kept, to be logged with the report.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class HeapGuard {
+
+    // Declare Instance Variables
+    static final int LOW_MEMORY_SORT_THRESHOLD = 1000;
+    private static final int CHECK_INTERVAL = 256;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<MemoryPoolMXBean>();
+    private final long maxHeap;
+    private final long threshold;
+    private final AtomicInteger checks = new AtomicInteger();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile long highWaterMark = 0;
+    private volatile boolean lowMemory = false;
+    private volatile String lowMemoryReason = null;
+
+    /**
+     * Constructor for objects of class HeapGuard
+     * First and only Constructor.
+     *
+     * @param thresholdPercent the percentage of the maximum heap above which low memory mode is used
+     */
+    HeapGuard(int thresholdPercent) {
+        long max = memory.getHeapMemoryUsage().getMax();
+        this.maxHeap = max > 0 ? max : Runtime.getRuntime().maxMemory();
+        this.threshold = maxHeap / 100 * Math.max(1, Math.min(thresholdPercent, 100));
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Check Method
+     * First Mutator Method.
+     *
+     * Samples the heap once every few hundred calls, so it can be called for every file.
+     *
+     * @param phase what the run is doing, logged if low memory mode is entered
+     * @return whether low memory mode is in use
+     */
+    boolean check(String phase) {
+        if (lowMemory) {
+            return true;
+        }
+        if (checks.incrementAndGet() % CHECK_INTERVAL != 0) {
+            return false;
+        }
+        return sample(phase);
+    }
+
+    /**
+     * Sample Method
+     * Second Mutator Method.
+     *
+     * Samples the heap now, entering low memory mode if the heap left by the last
+     * garbage collection is above the threshold.
+     *
+     * @param phase what the run is doing, logged if low memory mode is entered
+     * @return whether low memory mode is in use
+     */
+    synchronized boolean sample(String phase) {
+        long used = collectedHeap();
+        if (used > highWaterMark) {
+            highWaterMark = used;
+        }
+        if (!lowMemory && used > threshold) {
+            lowMemoryReason = "the heap was at " + megabytes(used) + " of " + megabytes(maxHeap) + " while " + phase;
+            lowMemory = true;
+        }
+        return lowMemory;
+    }
+
+    /**
+     * EnterLowMemory Method
+     * Third Mutator Method.
+     *
+     * Enters low memory mode before the heap runs low, such as when the report is estimated not to fit.
+     *
+     * @param reason logged with the report
+     */
+    synchronized void enterLowMemory(String reason) {
+        if (!lowMemory) {
+            lowMemoryReason = reason;
+            lowMemory = true;
+        }
+    }
+
+    /**
+     * Mark Method
+     * Fourth Mutator Method.
+     *
+     * @return the bytes allocated by the current thread so far, to be given to addAllocation
+     */
+    long mark() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * AddAllocation Method
+     * Fifth Mutator Method.
+     *
+     * Adds the bytes allocated by the current thread since the given mark to the allocation of the run.
+     *
+     * @param mark
+     */
+    void addAllocation(long mark) {
+        long now = mark();
+        if (mark >= 0 && now >= mark) {
+            allocatedBytes.addAndGet(now - mark);
+        }
+    }
+
+    /**
+     * IsLowMemory Method
+     * First Accessor Method.
+     *
+     * @return whether low memory mode is in use
+     */
+    boolean isLowMemory() {
+        return lowMemory;
+    }
+
+    /**
+     * GetMaxHeap Method
+     * Second Accessor Method.
+     *
+     * @return the maximum heap in bytes
+     */
+    long getMaxHeap() {
+        return maxHeap;
+    }
+
+    /**
+     * Summary Method
+     * Third Accessor Method.
+     *
+     * @return the highest heap usage seen, the allocation of the run and why low memory mode was entered
+     */
+    String summary() {
+        StringBuilder summary = new StringBuilder("heap high-water mark ").append(megabytes(highWaterMark))
+                .append(" of ").append(megabytes(maxHeap));
+        if (allocatedBytes.get() > 0) {
+            summary.append(", ").append(megabytes(allocatedBytes.get())).append(" allocated");
+        }
+        if (lowMemory) {
+            summary.append(", low memory mode entered as ").append(lowMemoryReason);
+        }
+        return summary.toString();
+    }
+
+    private long collectedHeap() {
+        if (heapPools.isEmpty()) {
+            // The collector does not report the usage after collection, so the garbage is counted as used
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static String megabytes(long bytes) {
+        return (bytes / (1024 * 1024)) + " MB";
+    }
+}
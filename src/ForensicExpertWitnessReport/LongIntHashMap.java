@@ -0,0 +1,114 @@
+/*
+ * Class LongIntHashMap.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to map ids, such as content object ids or
+ * blackboard artifact ids, to the index of their entry in a column based store.
+ * Keys are held in an open addressing hash table of primitive longs, so that a
+ * million ids can be mapped without an object per id.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.Arrays;
+
+class LongIntHashMap {
+
+    // Declare Instance Variables
+    private static final long EMPTY = Long.MIN_VALUE;
+    private long[] keys;
+    private int[] values;
+    private int size = 0;
+
+    /**
+     * Constructor for objects of class LongIntHashMap
+     * First and only Constructor.
+     *
+     * @param expectedSize
+     */
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+    }
+
+    /**
+     * Put Method
+     * First Mutator Method.
+     *
+     * Maps the given key to the given value, replacing any value it was mapped to.
+     *
+     * @param key
+     * @param value
+     */
+    void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Get Method
+     * First Accessor Method.
+     *
+     * @param key
+     * @return the value the key is mapped to, or -1 if it is not mapped
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i=hash(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Size Method
+     * Second Accessor Method.
+     *
+     * @return the amount of keys mapped
+     */
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j=0; j<oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
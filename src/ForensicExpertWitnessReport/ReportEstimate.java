@@ -0,0 +1,224 @@
+/*
+ * Class ReportEstimate.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to estimate how large a forensic expert witness
+ * report will be, and how much heap it needs, before any tagged file is read.
+ * The tagged files, the tagged images and their bytes and the tagged results of
+ * the selected tag names are counted in a single query each in every case the
+ * report is built from, from which the size
+ * of the report and the heap needed are estimated, and the way of generating the
+ * report which is fastest without running out of heap is chosen. Both ways hold
+ * the whole report in the heap until it is written, so a report which does not
+ * fit even with least heap is not generated at all.
+ *
+ * The figures per table are rough averages of reports generated from the included
+ * templates, enough to tell a report of a few hundred tables from one of a few
+ * hundred thousand.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.sleuthkit.datamodel.SleuthkitCase;
+import org.sleuthkit.datamodel.TagName;
+import org.sleuthkit.datamodel.TskCoreException;
+
+class ReportEstimate {
+
+    // Declare Instance Variables
+    private static final long TABLE_OUTPUT_BYTES = 600;
+    private static final long TABLE_HEAP_BYTES = 24 * 1024;
+    private static final long RESULT_TABLE_OUTPUT_BYTES = 900;
+    private static final long RESULT_TABLE_HEAP_BYTES = 32 * 1024;
+    private static final long SORTED_FILE_HEAP_BYTES = 256;
+    private final long files;
+    private final long images;
+    private final long imageBytes;
+    private final long results;
+    private final long tableHeap;
+    private final long heapNeeded;
+    private final long lowMemoryHeapNeeded;
+    private final long maxHeap;
+    private final Strategy strategy;
+
+    /**
+     * Enum Strategy of package ForensicExpertWitnessReport
+     *
+     * The ways of generating a report, from the fastest to the one using the least heap.
+     *
+     */
+    enum Strategy {
+        IN_MEMORY("in memory"),
+        LOW_MEMORY("sorting on disk, one tag name at a time");
+
+        private final String displayName;
+
+        private Strategy(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Constructor for objects of class ReportEstimate
+     * First and only Constructor.
+     *
+     * @param files the amount of tagged files
+     * @param images the amount of tagged images
+     * @param imageBytes the size of the tagged images
+     * @param results the amount of tagged results
+     * @param settings
+     * @param maxHeap the maximum heap in bytes
+     */
+    ReportEstimate(long files, long images, long imageBytes, long results, ForensicReportSettings settings, long maxHeap) {
+        this.files = files;
+        this.images = images;
+        this.imageBytes = imageBytes;
+        this.results = results;
+
+        // In memory, the sections are built at the same time and each waits for the sections before it to be merged, so every table may be
+        // held by its section and again by the report, while the tagged files are sorted in memory and the images added are held by the report
+        this.tableHeap = files * TABLE_HEAP_BYTES + results * RESULT_TABLE_HEAP_BYTES;
+        this.heapNeeded = 2 * tableHeap + Math.min(files, settings.getSortMemoryThreshold()) * SORTED_FILE_HEAP_BYTES
+                + Math.min(imageBytes, settings.getImageBudget() * 1024L * 1024L);
+        
+        // With least heap, the sections are built one at a time and each is released once merged, so every table is held by the report
+        // alone, the files are sorted on disk and no images are added
+        this.lowMemoryHeapNeeded = tableHeap + Math.min(files, HeapGuard.LOW_MEMORY_SORT_THRESHOLD) * SORTED_FILE_HEAP_BYTES;
+        this.maxHeap = maxHeap;
+        this.strategy = heapNeeded > maxHeap / 100 * settings.getHeapThreshold() ? Strategy.LOW_MEMORY : Strategy.IN_MEMORY;
+    }
+
+    /**
+     * Count Method
+     * First Mutator Method.
+     *
+     * Counts the tagged files, images and results of the tag names of every given case, and estimates the report.
+     *
+     * @param cases
+     * @param settings
+     * @param maxHeap the maximum heap in bytes
+     * @return estimate
+     * @throws TskCoreException
+     */
+    static ReportEstimate count(List<EvidenceCase> cases, ForensicReportSettings settings, long maxHeap) throws TskCoreException {
+        long[] counts = new long[4];
+        for (EvidenceCase evidenceCase : cases) {
+            count(evidenceCase.skCase, evidenceCase.tagNames, settings.isIncludeArtifactTags(), counts);
+        }
+        return new ReportEstimate(counts[0], counts[1], counts[2], counts[3], settings, maxHeap);
+    }
+
+    private static void count(SleuthkitCase skCase, List<TagName> tagNames, boolean includeArtifactTags, long[] counts) throws TskCoreException {
+        if (!tagNames.isEmpty()) {
+            StringBuilder tagNameIds = new StringBuilder();
+            for (TagName tagName : tagNames) {
+                if (tagNameIds.length() > 0) {
+                    tagNameIds.append(',');
+                }
+                tagNameIds.append(tagName.getId());
+            }
+            String image = "(tsk_files.mime_type IN ('image/jpeg', 'image/png', 'image/gif')"
+                    + " OR (tsk_files.mime_type IS NULL AND LOWER(tsk_files.extension) IN ('jpg', 'jpeg', 'gif', 'png')))";
+            try (SleuthkitCase.CaseDbQuery query = skCase.executeQuery("SELECT COUNT(*) AS files,"
+                    + " SUM(CASE WHEN " + image + " THEN 1 ELSE 0 END) AS images,"
+                    + " SUM(CASE WHEN " + image + " THEN tsk_files.size ELSE 0 END) AS image_bytes"
+                    + " FROM content_tags JOIN tsk_files ON tsk_files.obj_id = content_tags.obj_id"
+                    + " WHERE content_tags.tag_name_id IN (" + tagNameIds + ")")) {
+                ResultSet resultSet = query.getResultSet();
+                if (resultSet.next()) {
+                    counts[0] += resultSet.getLong("files");
+                    counts[1] += resultSet.getLong("images");
+                    counts[2] += resultSet.getLong("image_bytes");
+                }
+            } catch (SQLException ex) {
+                throw new TskCoreException("Error counting tagged files", ex);
+            }
+            if (includeArtifactTags) {
+                try (SleuthkitCase.CaseDbQuery query = skCase.executeQuery("SELECT COUNT(*) AS results FROM blackboard_artifact_tags"
+                        + " WHERE tag_name_id IN (" + tagNameIds + ")")) {
+                    ResultSet resultSet = query.getResultSet();
+                    if (resultSet.next()) {
+                        counts[3] += resultSet.getLong("results");
+                    }
+                } catch (SQLException ex) {
+                    throw new TskCoreException("Error counting tagged results", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * GetOutputBytes Method
+     * First Accessor Method.
+     *
+     * @return the estimated size of the tables added to the report
+     */
+    long getOutputBytes() {
+        return files * TABLE_OUTPUT_BYTES + results * RESULT_TABLE_OUTPUT_BYTES;
+    }
+
+    /**
+     * GetHeapNeeded Method
+     * Second Accessor Method.
+     *
+     * @return the estimated heap needed to generate the report in memory
+     */
+    long getHeapNeeded() {
+        return heapNeeded;
+    }
+
+    /**
+     * GetStrategy Method
+     * Third Accessor Method.
+     *
+     * @return the fastest way of generating the report which is estimated to fit in the heap
+     */
+    Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Fits Method
+     * Fourth Accessor Method.
+     *
+     * @return whether the tables of the report are estimated to fit in the heap at all, even when generating with least heap
+     */
+    boolean fits() {
+        return lowMemoryHeapNeeded <= maxHeap;
+    }
+
+    /**
+     * GetLowMemoryHeapNeeded Method
+     * Sixth Accessor Method.
+     *
+     * @return the estimated heap needed to generate the report with least heap
+     */
+    long getLowMemoryHeapNeeded() {
+        return lowMemoryHeapNeeded;
+    }
+
+    /**
+     * ToString Method
+     * Fifth Accessor Method.
+     *
+     * @return the estimate and the chosen strategy, as shown in the progress panel
+     */
+    @Override
+    public String toString() {
+        return "Estimated " + files + " files (" + images + " images, " + megabytes(imageBytes) + "), " + results + " results, "
+                + megabytes(getOutputBytes()) + " of tables and " + megabytes(heapNeeded) + " of heap, generating " + strategy;
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
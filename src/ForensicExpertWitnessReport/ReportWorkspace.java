@@ -0,0 +1,207 @@
+/*
+ * Class ReportWorkspace.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to hold the scratch files of one run of the
+ * forensic expert witness report, such as the sorted runs of tagged files, in a
+ * directory of their own under the temporary directory of the case. The whole
+ * directory is removed when the run is closed.
+ *
+ * The workspace is limited to a budget of bytes, shared by every thread of the
+ * run. Every byte written through the workspace is counted against the budget,
+ * and a write which would exceed it fails with a BudgetExceededException before
+ * anything is written, so that an EvidenceSorter can keep its files in memory
+ * rather than fill the disk of the case.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ReportWorkspace implements Closeable {
+
+    // Declare Instance Variables
+    private final Path directory;
+    private final long budget;
+    private final AtomicLong used = new AtomicLong();
+
+    /**
+     * Class BudgetExceededException of package ForensicExpertWitnessReport
+     *
+     * Thrown by a write which would take the workspace past its budget.
+     *
+     */
+    static class BudgetExceededException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        BudgetExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Constructor for objects of class ReportWorkspace
+     * First and only Constructor.
+     *
+     * @param directory
+     * @param budget the bytes which may be written into the workspace, or 0 for no limit
+     */
+    private ReportWorkspace(Path directory, long budget) {
+        this.directory = directory;
+        this.budget = budget;
+    }
+
+    /**
+     * Create Method
+     * First Mutator Method.
+     *
+     * Creates a new, empty workspace under the given directory.
+     *
+     * @param parent such as the temporary directory of the case
+     * @param budget the bytes which may be written into the workspace, or 0 for no limit
+     * @return workspace
+     * @throws IOException
+     */
+    static ReportWorkspace create(Path parent, long budget) throws IOException {
+        Files.createDirectories(parent);
+        return new ReportWorkspace(Files.createTempDirectory(parent, "ForensicReport"), budget);
+    }
+
+    /**
+     * Close Method
+     * Second Mutator Method.
+     *
+     * Removes the workspace and every file in it.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        used.set(0);
+    }
+
+    /**
+     * CreateFile Method
+     * Third Mutator Method.
+     *
+     * @param prefix
+     * @param suffix
+     * @return a new, empty file in the workspace
+     * @throws IOException
+     */
+    File createFile(String prefix, String suffix) throws IOException {
+        return File.createTempFile(prefix, suffix, directory.toFile());
+    }
+
+    /**
+     * Output Method
+     * Fourth Mutator Method.
+     *
+     * Opens the given file of the workspace for writing, counting every byte
+     * written against the budget of the workspace.
+     *
+     * @param file
+     * @return stream, whose writes throw a BudgetExceededException rather than exceed the budget
+     * @throws IOException
+     */
+    OutputStream output(File file) throws IOException {
+        return new FilterOutputStream(new FileOutputStream(file)) {
+            @Override
+            public void write(int b) throws IOException {
+                reserve(1);
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                reserve(len);
+                out.write(b, off, len);
+            }
+        };
+    }
+
+    /**
+     * Delete Method
+     * Fifth Mutator Method.
+     *
+     * Deletes the given file of the workspace, returning its bytes to the budget.
+     *
+     * @param file
+     * @return whether the file was deleted
+     */
+    boolean delete(File file) {
+        long length = file.length();
+        if (!file.delete()) {
+            return !file.exists();
+        }
+        used.addAndGet(-length);
+        return true;
+    }
+
+    /**
+     * GetDirectory Method
+     * First Accessor Method.
+     *
+     * @return the directory of the workspace
+     */
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * GetBudget Method
+     * Second Accessor Method.
+     *
+     * @return the bytes which may be written into the workspace, or 0 for no limit
+     */
+    long getBudget() {
+        return budget;
+    }
+
+    /**
+     * GetUsed Method
+     * Third Accessor Method.
+     *
+     * @return the bytes of the files in the workspace
+     */
+    long getUsed() {
+        return used.get();
+    }
+
+    private void reserve(long bytes) throws BudgetExceededException {
+        long now = used.addAndGet(bytes);
+        if (budget > 0 && now > budget) {
+            used.addAndGet(-bytes);
+            throw new BudgetExceededException("The scratch workspace is limited to " + (budget / (1024 * 1024)) + " MB");
+        }
+    }
+}
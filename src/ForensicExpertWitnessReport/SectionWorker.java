@@ -0,0 +1,141 @@
+/*
+ * Class SectionWorker.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to build the tables of the tagged files of a
+ * forensic expert witness report in a process of its own, so that the tables of
+ * a very large report are built by several processes on the same machine rather
+ * than by the threads of a single Autopsy. A worker is started by SectionWorkerPool
+ * with the port the pool listens on, reads the token of the pool from its standard
+ * input and connects back to the pool over the loopback interface.
+ *
+ * The pool then sends the worker one shard at a time: a range of the files of one
+ * tag name, already sorted, with the values of their extended fields and their
+ * pictures, of which only the relation ids in the report are sent. The worker builds
+ * the tables of the shard into a ForensicReportSection and sends back only the XML
+ * of its body, which the pool appends to the section of the tag name to be copied
+ * into the report with it. As every value is sent with the shard, a worker opens neither the
+ * case nor the report. Its class path is still more than POI: the classes of this
+ * module it loads, such as EvidenceRecord and ForensicReportSection, refer to
+ * types of the Sleuth Kit datamodel, so the datamodel jar is needed as well.
+ *
+ * A shard is sent as the fields shown, the caption of the shard and every file
+ * as its EvidenceRecord, group caption, extended field values and picture, ended
+ * by false. The pool ends the work with END in place of the fields.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.EnumSet;
+import java.util.Set;
+
+class SectionWorker {
+
+    // Declare Instance Variables
+    static final int END = -1;
+
+    /**
+     * Main Method
+     * Main and First Mutator Method.
+     *
+     * The only argument is the port of the SectionWorkerPool to connect to. Builds
+     * the shards sent by the pool until the pool ends the work or closes the connection.
+     *
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        String token = new BufferedReader(new InputStreamReader(System.in, "UTF-8")).readLine();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(token);
+            out.flush();
+            serve(in, out);
+        }
+    }
+
+    /**
+     * Serve Method
+     * Second Mutator Method.
+     *
+     * Builds every shard read from the given stream, writing back the length and
+     * bytes of the XML of the body of each, see ForensicReportSection.writeBody.
+     *
+     * @param in
+     * @param out
+     * @throws IOException
+     */
+    static void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        EvidenceRecord record = new EvidenceRecord();
+        String[] extendedValues = new String[EvidenceField.values().length];
+        for (int mask = in.readInt(); mask != END; mask = in.readInt()) {
+            Set<EvidenceField> fields = fields(mask);
+            ForensicReportSection section = new ForensicReportSection(fields, null, null);
+            String caption = EvidenceRecord.readString(in);
+            if (caption != null) {
+                section.addCaption(caption);
+            }
+            while (in.readBoolean()) {
+                record.readFrom(in);
+                String groupCaption = EvidenceRecord.readString(in);
+                for (EvidenceField field : fields) {
+                    if (field.isExtended()) {
+                        extendedValues[field.ordinal()] = EvidenceRecord.readString(in);
+                    }
+                }
+                EvidenceImages.Picture picture = in.readBoolean() ? EvidenceImages.Picture.readFrom(in) : null;
+                section.buildTables(record, groupCaption, extendedValues, picture);
+            }
+            ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+            section.writeBody(fragment);
+            out.writeInt(fragment.size());
+            fragment.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Mask Method
+     * First Accessor Method.
+     *
+     * @param fields
+     * @return the given fields as a bit mask of their ordinals, as sent with a shard
+     */
+    static int mask(Set<EvidenceField> fields) {
+        int mask = 0;
+        for (EvidenceField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Fields Method
+     * Second Accessor Method.
+     *
+     * @param mask
+     * @return the fields of a bit mask written by mask
+     */
+    static Set<EvidenceField> fields(int mask) {
+        Set<EvidenceField> fields = EnumSet.noneOf(EvidenceField.class);
+        for (EvidenceField field : EvidenceField.values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
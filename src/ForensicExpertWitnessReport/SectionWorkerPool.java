@@ -0,0 +1,396 @@
+/*
+ * Class SectionWorkerPool.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to build the tables of the tagged files of a
+ * forensic expert witness report in several SectionWorker processes on the same
+ * machine. The pool listens on a port of the loopback interface, starts every
+ * worker with the Java of Autopsy and the jars of this module, and accepts only
+ * the workers which send back the random token given to them on their standard
+ * input.
+ *
+ * The sorted files of one tag name are split into shards of RANGE_FILES
+ * consecutive files, so that a tag name with many files is built by every worker
+ * rather than by one. Every shard is sent to the next idle worker together with
+ * the values of the extended fields and the relation ids of the pictures of its
+ * files, and the XML of the bodies the workers send back is appended to one
+ * ForensicReportSection in the order of the shards, to be copied into the report
+ * with the section in one copy per shard. Every worker is started with a maximum
+ * heap of WORKER_HEAP, which is ample for one shard. No more shards of a tag
+ * name are sent ahead than there are workers, so that the fragments waiting for
+ * an earlier shard stay few. A worker which fails is dropped from the pool,
+ * failing its shard and so the section. The pool is closed with the run, ending
+ * every worker.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+
+class SectionWorkerPool implements Closeable {
+
+    // Declare Instance Variables
+    static final int RANGE_FILES = 1000;
+    static final String WORKER_HEAP = "512m";
+    private static final int CONNECT_TIMEOUT = 60000;
+    private static final String[] CLASSPATH_CLASSES = {
+        "org.apache.poi.xwpf.usermodel.XWPFDocument",
+        "org.apache.poi.POIDocument",
+        "org.apache.xmlbeans.XmlObject",
+        "org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBody",
+        "org.apache.commons.collections4.ListValuedMap",
+        // Not only POI: EvidenceRecord and ForensicReportSection refer to types of the datamodel, although a worker opens no case
+        "org.sleuthkit.datamodel.AbstractFile"
+    };
+    private final ServerSocket server;
+    private final List<Process> processes = new ArrayList<Process>();
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<Connection>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool();
+
+    /**
+     * Class Connection of package ForensicExpertWitnessReport
+     *
+     * The connection to one worker.
+     *
+     */
+    private static class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                // The worker has already gone
+            }
+        }
+    }
+
+    /**
+     * Constructor for objects of class SectionWorkerPool
+     * First and only Constructor.
+     *
+     * @param server
+     */
+    private SectionWorkerPool(ServerSocket server) {
+        this.server = server;
+    }
+
+    /**
+     * Start Method
+     * First Mutator Method.
+     *
+     * Starts the given amount of workers and waits for every one to connect.
+     *
+     * @param workers
+     * @return pool
+     * @throws IOException if a worker could not be started or did not connect in time
+     */
+    static SectionWorkerPool start(int workers) throws IOException {
+        ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress());
+        SectionWorkerPool pool = new SectionWorkerPool(server);
+        try {
+            server.setSoTimeout(CONNECT_TIMEOUT);
+            String token = new BigInteger(130, new SecureRandom()).toString(32);
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            String classPath = classPath();
+            for (int i=0; i<workers; i++) {
+                ProcessBuilder builder = new ProcessBuilder(java, "-Xmx" + WORKER_HEAP, "-cp", classPath, SectionWorker.class.getName(), Integer.toString(server.getLocalPort()));
+                builder.redirectErrorStream(true);
+                builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+                Process process = builder.start();
+                pool.processes.add(process);
+                try (OutputStream tokenOut = process.getOutputStream()) {
+                    tokenOut.write((token + "\n").getBytes("UTF-8"));
+                }
+            }
+
+            // Accept the workers, dropping any connection which does not send the token
+            while (pool.live.get() < workers) {
+                Socket socket = server.accept();
+                socket.setSoTimeout(CONNECT_TIMEOUT);
+                Connection connection = new Connection(socket);
+                try {
+                    if (!token.equals(connection.in.readUTF())) {
+                        connection.close();
+                        continue;
+                    }
+                } catch (IOException ex) {
+                    connection.close();
+                    continue;
+                }
+                socket.setSoTimeout(0);
+                pool.idle.add(connection);
+                pool.live.incrementAndGet();
+            }
+        } catch (SocketTimeoutException ex) {
+            pool.close();
+            throw new IOException("Only " + pool.live.get() + " of " + workers + " section workers connected", ex);
+        } catch (IOException ex) {
+            pool.close();
+            throw ex;
+        }
+        return pool;
+    }
+
+    /**
+     * Render Method
+     * Second Mutator Method.
+     *
+     * Streams the files of the given sorter, in order, to the idle workers a shard
+     * of RANGE_FILES files at a time, and appends the bodies they build to one
+     * section in the order of the shards. Called by several threads at once.
+     *
+     * @param sorter
+     * @param fields the fields shown in every table
+     * @param caption caption to add before the tables, or null for none
+     * @param evidenceAttributes the extended fields of every tagged file, or null if none are shown
+     * @param images the images reserved for the report, each added as its file is streamed to the worker, or null if none are
+     * @return section, to which further tables can be added
+     * @throws IOException if no worker is left, or a worker failed
+     * @throws InterruptedException
+     */
+    ForensicReportSection render(EvidenceSorter sorter, Set<EvidenceField> fields, String caption, EvidenceAttributes evidenceAttributes, EvidenceImages images) throws IOException, InterruptedException {
+        int mask = SectionWorker.mask(fields);
+        ForensicReportSection section = null;
+        Deque<Future<XmlObject>> pending = new ArrayDeque<Future<XmlObject>>();
+        try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+            EvidenceRecord record = new EvidenceRecord();
+            String parentPath = null;
+            String shardCaption = caption;
+            boolean more = sorted.next(record);
+            do {
+                ByteArrayOutputStream shard = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(shard);
+                out.writeInt(mask);
+                EvidenceRecord.writeString(out, shardCaption);
+                shardCaption = null;
+                for (int files=0; more && files<RANGE_FILES; files++) {
+                    out.writeBoolean(true);
+                    record.writeTo(out);
+
+                    // Caption the first table of every parent directory, if grouped by parent directory, across the shards
+                    String groupCaption = null;
+                    if (sorter.isGroupedByParent() && !record.parentPath.equals(parentPath)) {
+                        parentPath = record.parentPath;
+                        groupCaption = "Files in \"" + parentPath + "\"";
+                    }
+                    EvidenceRecord.writeString(out, groupCaption);
+                    for (EvidenceField field : fields) {
+                        if (field.isExtended()) {
+                            EvidenceRecord.writeString(out, evidenceAttributes == null ? null : evidenceAttributes.get(field, record.objectId));
+                        }
+                    }
+                    EvidenceImages.Picture picture = images == null ? null : images.get(record.objectId);
+                    out.writeBoolean(picture != null);
+                    if (picture != null) {
+                        picture.writeTo(out);
+                    }
+                    more = sorted.next(record);
+                }
+                out.writeBoolean(false);
+                pending.add(dispatch(shard.toByteArray()));
+
+                // Append the bodies built so far in order, sending no more shards ahead than there are workers
+                while (!pending.isEmpty() && (pending.size() > Math.max(live.get(), 1) || !more)) {
+                    section = append(section, fields, pending.poll());
+                }
+            } while (more);
+            return section;
+        } finally {
+            for (Future<XmlObject> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Dispatch Method
+     * Third Mutator Method.
+     *
+     * @param shard the fields, caption and files of a shard, as read by SectionWorker
+     * @return the body built from the shard by the next idle worker
+     */
+    private Future<XmlObject> dispatch(final byte[] shard) {
+        return dispatcher.submit(new Callable<XmlObject>() {
+            @Override
+            public XmlObject call() throws IOException, InterruptedException {
+                Connection connection = null;
+                while (connection == null) {
+                    if (live.get() == 0) {
+                        throw new IOException("No section workers are left");
+                    }
+                    connection = idle.poll(1, TimeUnit.SECONDS);
+                }
+                boolean failed = true;
+                byte[] body;
+                try {
+                    connection.out.write(shard);
+                    connection.out.flush();
+                    body = new byte[connection.in.readInt()];
+                    connection.in.readFully(body);
+                    failed = false;
+                } finally {
+                    if (failed) {
+                        connection.close();
+                        live.decrementAndGet();
+                    } else {
+                        idle.add(connection);
+                    }
+                }
+                try {
+                    return XmlObject.Factory.parse(new ByteArrayInputStream(body));
+                } catch (XmlException ex) {
+                    throw new IOException("A section worker sent a body which could not be read", ex);
+                }
+            }
+        });
+    }
+
+    private static ForensicReportSection append(ForensicReportSection section, Set<EvidenceField> fields, Future<XmlObject> future) throws IOException, InterruptedException {
+        XmlObject body;
+        try {
+            body = future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException("Error building a shard in a section worker", ex.getCause());
+        }
+        if (section == null) {
+            section = new ForensicReportSection(fields, null, null);
+        }
+        section.append(body);
+        return section;
+    }
+
+    /**
+     * Close Method
+     * Fourth Mutator Method.
+     *
+     * Ends the work of every worker and stops the pool.
+     */
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+        for (Connection connection = idle.poll(); connection != null; connection = idle.poll()) {
+            try {
+                connection.out.writeInt(SectionWorker.END);
+                connection.out.flush();
+            } catch (IOException ex) {
+                // The worker has already gone
+            }
+            connection.close();
+        }
+        try {
+            server.close();
+        } catch (IOException ex) {
+            // The pool is stopping either way
+        }
+        // A worker exits once its connection is closed, any worker still running is ended
+        for (Process process : processes) {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Size Method
+     * First Accessor Method.
+     *
+     * @return the amount of workers left
+     */
+    int size() {
+        return live.get();
+    }
+
+    /**
+     * ClassPath Method
+     * Second Accessor Method.
+     *
+     * @return the class path of a worker: the jar of this module, the jars beside it and the jars of POI, XMLBeans, the OOXML schemas and the datamodel
+     */
+    private static String classPath() throws IOException {
+        Set<String> entries = new LinkedHashSet<String>();
+        File module = location(SectionWorker.class);
+        entries.add(module.getPath());
+        File ext = new File(module.getParentFile(), "ext");
+        File[] jars = ext.listFiles();
+        if (jars != null) {
+            for (File jar : jars) {
+                if (jar.getName().endsWith(".jar")) {
+                    entries.add(jar.getPath());
+                }
+            }
+        }
+        for (String className : CLASSPATH_CLASSES) {
+            try {
+                entries.add(location(Class.forName(className, false, SectionWorkerPool.class.getClassLoader())).getPath());
+            } catch (ClassNotFoundException ex) {
+                // Not needed by this version of POI
+            }
+        }
+        StringBuilder classPath = new StringBuilder();
+        for (String entry : entries) {
+            if (classPath.length() > 0) {
+                classPath.append(File.pathSeparator);
+            }
+            classPath.append(entry);
+        }
+        return classPath.toString();
+    }
+
+    private static File location(Class<?> type) throws IOException {
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source == null) {
+            throw new IOException("Unable to find the jar of " + type.getName());
+        }
+        try {
+            return new File(source.getLocation().toURI());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Unable to find the jar of " + type.getName(), ex);
+        }
+    }
+}
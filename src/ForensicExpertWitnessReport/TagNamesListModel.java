@@ -0,0 +1,225 @@
+/*
+ * Class TagNamesListModel.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to manage the tag names of the current case in
+ * the tag names list of ForensicReportConfigPanel, and which of them are selected
+ * by the user, for cases with thousands of tag names. The display name of every
+ * tag name is lower cased once, and the list only shows the tag names whose
+ * display names contain the search typed by the user. A search which extends the
+ * previous search is only matched against the tag names already shown, so that
+ * typing narrows the list without searching every tag name again.
+ *
+ * The selection is held by position in the tag names, so that the selected tag
+ * names are found without searching the display names, and selecting or
+ * deselecting every tag name shown tells the list once rather than for every
+ * tag name.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import javax.swing.AbstractListModel;
+import org.sleuthkit.datamodel.TagName;
+
+class TagNamesListModel extends AbstractListModel<String> {
+
+    // Declare Instance Variables
+    private static final long serialVersionUID = 1L;
+    private List<TagName> tagNames = new ArrayList<TagName>();
+    private String[] searchNames = new String[0];
+    private final BitSet selected = new BitSet();
+    private int[] shown = new int[0];
+    private int shownCount = 0;
+    private String search = "";
+    private String longestName = "";
+
+    /**
+     * SetTagNames Method
+     * First Mutator Method.
+     *
+     * Replaces the tag names of the list, every one unselected and shown.
+     *
+     * @param tagNames
+     */
+    void setTagNames(List<TagName> tagNames) {
+        int previousCount = shownCount;
+        this.tagNames = new ArrayList<TagName>(tagNames);
+        searchNames = new String[this.tagNames.size()];
+        longestName = "";
+        for (int i=0; i<searchNames.length; i++) {
+            String displayName = this.tagNames.get(i).getDisplayName();
+            searchNames[i] = displayName.toLowerCase(Locale.ROOT);
+            if (displayName.length() > longestName.length()) {
+                longestName = displayName;
+            }
+        }
+        selected.clear();
+        search = "";
+        showAll();
+        if (previousCount > 0) {
+            fireIntervalRemoved(this, 0, previousCount - 1);
+        }
+        if (shownCount > 0) {
+            fireIntervalAdded(this, 0, shownCount - 1);
+        }
+    }
+
+    /**
+     * SetSearch Method
+     * Second Mutator Method.
+     *
+     * Shows only the tag names whose display names contain the given search,
+     * ignoring case, or every tag name if the search is empty.
+     *
+     * @param text
+     */
+    void setSearch(String text) {
+        String next = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (next.equals(search)) {
+            return;
+        }
+        int previousCount = shownCount;
+        if (next.isEmpty()) {
+            showAll();
+        } else {
+
+            // Narrow the tag names already shown if the search only extends the previous search
+            int[] candidates = shown;
+            int candidateCount = shownCount;
+            if (!next.contains(search)) {
+                showAll();
+                candidates = shown;
+                candidateCount = shownCount;
+            }
+            int[] matches = new int[candidateCount];
+            int matchCount = 0;
+            for (int i=0; i<candidateCount; i++) {
+                if (searchNames[candidates[i]].contains(next)) {
+                    matches[matchCount++] = candidates[i];
+                }
+            }
+            shown = matches;
+            shownCount = matchCount;
+        }
+        search = next;
+        fireListReplaced(previousCount);
+    }
+
+    /**
+     * SetShownSelected Method
+     * Third Mutator Method.
+     *
+     * Selects or deselects every tag name shown, telling the list once.
+     *
+     * @param select
+     */
+    void setShownSelected(boolean select) {
+        if (shownCount == 0) {
+            return;
+        }
+        if (shownCount == tagNames.size()) {
+            selected.set(0, tagNames.size(), select);
+        } else {
+            for (int i=0; i<shownCount; i++) {
+                selected.set(shown[i], select);
+            }
+        }
+        fireContentsChanged(this, 0, shownCount - 1);
+    }
+
+    /**
+     * Toggle Method
+     * Fourth Mutator Method.
+     *
+     * Selects the tag name shown at the given position if unselected, or deselects it.
+     *
+     * @param index
+     */
+    void toggle(int index) {
+        selected.flip(shown[index]);
+        fireContentsChanged(this, index, index);
+    }
+
+    /**
+     * GetSize Method
+     * First Accessor Method.
+     *
+     * @return the amount of tag names shown
+     */
+    @Override
+    public int getSize() {
+        return shownCount;
+    }
+
+    /**
+     * GetElementAt Method
+     * Second Accessor Method.
+     *
+     * @param index
+     * @return the display name of the tag name shown at the given position
+     */
+    @Override
+    public String getElementAt(int index) {
+        return tagNames.get(shown[index]).getDisplayName();
+    }
+
+    /**
+     * IsSelected Method
+     * Third Accessor Method.
+     *
+     * @param index
+     * @return whether the tag name shown at the given position is selected
+     */
+    boolean isSelected(int index) {
+        return selected.get(shown[index]);
+    }
+
+    /**
+     * GetSelectedTagNames Method
+     * Fourth Accessor Method.
+     *
+     * @return the selected tag names, shown or not, in the order of the case
+     */
+    List<TagName> getSelectedTagNames() {
+        List<TagName> selectedTagNames = new ArrayList<TagName>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            selectedTagNames.add(tagNames.get(i));
+        }
+        return selectedTagNames;
+    }
+
+    /**
+     * GetLongestName Method
+     * Fifth Accessor Method.
+     *
+     * @return the longest display name, the width of the list is measured from it
+     */
+    String getLongestName() {
+        return longestName;
+    }
+
+    private void showAll() {
+        shown = new int[tagNames.size()];
+        for (int i=0; i<shown.length; i++) {
+            shown[i] = i;
+        }
+        shownCount = shown.length;
+    }
+
+    private void fireListReplaced(int previousCount) {
+        int common = Math.min(previousCount, shownCount);
+        if (common > 0) {
+            fireContentsChanged(this, 0, common - 1);
+        }
+        if (previousCount > shownCount) {
+            fireIntervalRemoved(this, shownCount, previousCount - 1);
+        } else if (shownCount > previousCount) {
+            fireIntervalAdded(this, previousCount, shownCount - 1);
+        }
+    }
+}
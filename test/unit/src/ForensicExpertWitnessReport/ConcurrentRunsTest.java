@@ -0,0 +1,235 @@
+/*
+ * Class ConcurrentRunsTest.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to check that several forensic expert witness
+ * reports can be generated at the same time without sharing any state: every
+ * run copies its settings, and sorts its tagged files in a ReportWorkspace of its
+ * own under the same temporary directory of the case. Only the parts of a run
+ * which do not need Autopsy are exercised, on many threads at once: sorting the
+ * files, and building their sections and splicing them into Template One.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentRunsTest {
+
+    // Declare Instance Variables
+    private static final int RUNS = 8;
+    private static final int FILES = 20000;
+    private static final int SORT_THRESHOLD = 100;
+    private static final int SECTIONS = 3;
+    private static final int SECTION_FILES = 200;
+    private static final String TEMPLATE = "Pre_existing_template_one.docx";
+    private static final String HEADING = "Analysis Evidence";
+
+    @Rule
+    public TemporaryFolder caseTemp = new TemporaryFolder();
+
+    /**
+     * ConcurrentRunsSortIndependently Method
+     * First Mutator Method.
+     *
+     * Starts every run at the same moment, each adding its own files, tagged with
+     * the number of the run, to sorters which spill hundreds of runs to disk, and
+     * checks that every run reads back exactly its own files, in order and stable,
+     * and that no scratch file is left once the runs are closed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void concurrentRunsSortIndependently() throws Exception {
+        final File parent = caseTemp.getRoot();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS);
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        try {
+            for (int i=0; i<RUNS; i++) {
+                final int runNumber = i;
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        start.await();
+                        return sortRun(parent, runNumber);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertEquals(FILES, (int) future.get(120, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Scratch files left behind: " + Arrays.toString(parent.list()), 0, parent.list().length);
+    }
+
+    /**
+     * SettingsAreCopiedForEveryRun Method
+     * Second Mutator Method.
+     *
+     * Checks that changing the settings of the configuration panel, while a run
+     * holds its copy, does not change the copy.
+     *
+     */
+    @Test
+    public void settingsAreCopiedForEveryRun() {
+        ForensicReportSettings panelSettings = new ForensicReportSettings();
+        panelSettings.setOtherCases(Arrays.asList("case one"));
+        ForensicReportSettings runSettings = new ForensicReportSettings(panelSettings);
+        Set<EvidenceField> runFields = runSettings.getFields();
+
+        panelSettings.setEvidenceOrder(EvidenceOrder.HASH);
+        panelSettings.setSortMemoryThreshold(5);
+        panelSettings.setOtherCases(Arrays.asList("case one", "case two"));
+        panelSettings.setFields(EnumSet.of(EvidenceField.HASH));
+
+        assertEquals(EvidenceOrder.TAGGED, runSettings.getEvidenceOrder());
+        assertEquals(100000, runSettings.getSortMemoryThreshold());
+        assertEquals(Arrays.asList("case one"), runSettings.getOtherCases());
+        assertEquals(runFields, runSettings.getFields());
+        assertFalse(runSettings.getFields().equals(panelSettings.getFields()));
+    }
+
+    /**
+     * ConcurrentReportsMatchReportsBuiltAlone Method
+     * Third Mutator Method.
+     *
+     * Builds the report of every run alone, then all of them again at the same
+     * moment, each sorting its own files, building its sections and splicing them
+     * after the evidence heading of its own copy of Template One as a run does,
+     * and checks that every report built alongside the others is the same as the
+     * one built alone.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void concurrentReportsMatchReportsBuiltAlone() throws Exception {
+        List<String> alone = new ArrayList<String>();
+        for (int i=0; i<RUNS; i++) {
+            alone.add(buildReport(i));
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS);
+        List<Future<String>> futures = new ArrayList<Future<String>>();
+        try {
+            for (int i=0; i<RUNS; i++) {
+                final int runNumber = i;
+                futures.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return buildReport(runNumber);
+                    }
+                }));
+            }
+            start.countDown();
+            for (int i=0; i<RUNS; i++) {
+                assertEquals("Report of run " + i, alone.get(i), futures.get(i).get(120, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String buildReport(int runNumber) throws Exception {
+        ForensicReportDocument document;
+        try (InputStream in = ForensicReport.class.getResourceAsStream(TEMPLATE)) {
+            if (in == null) {
+                throw new IOException("Unable to find " + TEMPLATE);
+            }
+            document = new ForensicReportDocument(in);
+        }
+        XWPFParagraph headingParagraph = null;
+        for (XWPFParagraph paragraph : document.getParagraphs()) {
+            if (paragraph.getText() != null && paragraph.getText().contains(HEADING)) {
+                headingParagraph = paragraph;
+            }
+        }
+        assertTrue(headingParagraph != null);
+        ForensicReportSection.addStyles(document, "2E74B5", "FFFFFF");
+        int templateTables = document.getTables().size();
+        ForensicReportSettings settings = new ForensicReportSettings();
+        Random random = new Random(runNumber);
+        try (ForensicReportDocument.Splice splice = document.openSplice(headingParagraph)) {
+            for (int s=0; s<SECTIONS; s++) {
+                EvidenceSorter sorter = new EvidenceSorter(EvidenceOrder.MODIFIED_TIME, true, SECTION_FILES, SECTION_FILES, null);
+                for (int i=0; i<SECTION_FILES; i++) {
+                    int directory = random.nextInt(10);
+                    sorter.add(s * SECTION_FILES + i, "run" + runNumber + "_file" + i, "/run" + runNumber + "/dir" + directory + "/file" + i,
+                            Long.toHexString(random.nextLong()), i % 3 == 0 ? "Comment " + i : "", null, 0, random.nextInt(1000), 0);
+                }
+                ForensicReportSection section = new ForensicReportSection(settings.getFields(), null, null);
+                section.addCaption("Run " + runNumber + ", section " + s);
+                EvidenceRecord record = new EvidenceRecord();
+                String parentPath = null;
+                try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+                    while (sorted.next(record)) {
+                        String groupCaption = null;
+                        if (!record.parentPath.equals(parentPath)) {
+                            parentPath = record.parentPath;
+                            groupCaption = "Files in \"" + parentPath + "\"";
+                        }
+                        section.buildTables(record, groupCaption);
+                    }
+                } finally {
+                    sorter.discard();
+                }
+                splice.add(section);
+            }
+        }
+        assertEquals(templateTables + SECTIONS * SECTION_FILES, document.getTables().size());
+        return document.getDocument().getBody().xmlText();
+    }
+
+    private static int sortRun(File parent, int runNumber) throws Exception {
+        ReportWorkspace workspace = ReportWorkspace.create(parent.toPath(), 0);
+        try {
+            EvidenceSorter sorter = new EvidenceSorter(EvidenceOrder.MODIFIED_TIME, false, SORT_THRESHOLD, FILES, workspace);
+            Random random = new Random(runNumber);
+            for (int i=0; i<FILES; i++) {
+                sorter.add(i, "run" + runNumber, "/run" + runNumber + "/file" + i, null, null, null, 0, random.nextInt(1000), 0);
+            }
+            EvidenceRecord record = new EvidenceRecord();
+            long lastTime = -1;
+            long lastId = -1;
+            int count = 0;
+            try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+                while (sorted.next(record)) {
+                    assertEquals("run" + runNumber, record.fileName);
+                    assertTrue(record.modifiedTime > lastTime || (record.modifiedTime == lastTime && record.objectId > lastId));
+                    lastTime = record.modifiedTime;
+                    lastId = record.objectId;
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            workspace.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Class ReportWorkspaceTest.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to check that the scratch files of a forensic
+ * expert witness report are kept within the budget of its ReportWorkspace: once
+ * the workspace is full, an EvidenceSorter keeps the files it holds in memory
+ * and skips the rest, and every file it kept is still read back in order.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReportWorkspaceTest {
+
+    // Declare Instance Variables
+    private static final int FILES = 5000;
+    private static final int SORT_THRESHOLD = 100;
+    private static final long BUDGET = 16 * 1024;
+
+    @Rule
+    public TemporaryFolder caseTemp = new TemporaryFolder();
+
+    /**
+     * FullWorkspaceSkipsFilesPastMemory Method
+     * First Mutator Method.
+     *
+     * Adds more files than fit in the budget, and checks that the runs written
+     * stay within it, that no more than the memory threshold is held once it is
+     * full, and that the files kept are read back in order and stable, after
+     * which the workspace is empty again.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void fullWorkspaceSkipsFilesPastMemory() throws Exception {
+        ReportWorkspace workspace = ReportWorkspace.create(caseTemp.getRoot().toPath(), BUDGET);
+        try {
+            EvidenceSorter sorter = new EvidenceSorter(EvidenceOrder.MODIFIED_TIME, false, SORT_THRESHOLD, FILES, workspace);
+            Random random = new Random(1);
+            for (int i=0; i<FILES; i++) {
+                sorter.add(i, "file" + i, "/dir/file" + i, null, null, null, 0, random.nextInt(1000), 0);
+                assertTrue(workspace.getUsed() <= BUDGET);
+            }
+            assertTrue(sorter.getSkipped() > 0);
+            assertEquals(FILES, sorter.size() + sorter.getSkipped());
+            assertTrue(sorter.size() > SORT_THRESHOLD);
+
+            EvidenceRecord record = new EvidenceRecord();
+            long lastTime = -1;
+            long lastId = -1;
+            int count = 0;
+            try (EvidenceSorter.Cursor sorted = sorter.sort()) {
+                while (sorted.next(record)) {
+                    assertTrue(record.modifiedTime > lastTime || (record.modifiedTime == lastTime && record.objectId > lastId));
+                    lastTime = record.modifiedTime;
+                    lastId = record.objectId;
+                    count++;
+                }
+            }
+            assertEquals(sorter.size(), count);
+            assertEquals(0, workspace.getUsed());
+            assertEquals(0, workspace.getDirectory().toFile().list().length);
+        } finally {
+            workspace.close();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Class SectionWorkerTest.java of package ForensicExpertWitnessReport
+ *
+ * Using this class you are able to check that a SectionWorker builds the same
+ * tables as a report builds in its own process. A worker is served over a socket
+ * on localhost, as SectionWorkerPool connects to one, sent shards of files in the
+ * protocol of the pool, and the bodies it sends back are appended to a section
+ * and merged into a document, which must match the document merged from a section
+ * built from the same files in this process.
+ *
+ * @version 19.10.2026
+ */
+
+package ForensicExpertWitnessReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlObject;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SectionWorkerTest {
+
+    // Declare Instance Variables
+    private static final int SHARDS = 3;
+    private static final int SHARD_FILES = 50;
+    private static final String CAPTION = "Evidence from Case One";
+    private static final Set<EvidenceField> FIELDS = EnumSet.of(EvidenceField.FILE_NAME, EvidenceField.FILE_PATH, EvidenceField.HASH,
+            EvidenceField.MODIFIED_TIME, EvidenceField.CAMERA);
+
+    /**
+     * ServedShardsMatchSectionBuiltInProcess Method
+     * First Mutator Method.
+     *
+     * Sends several shards to a worker served on localhost and ends its work,
+     * then checks that the bodies it sent back, merged in order, match the same
+     * files built into one section here, pictures and captions included.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void servedShardsMatchSectionBuiltInProcess() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+
+            // Serve a worker on the other end of a loopback connection, as SectionWorker.main does
+            Future<Void> worker = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    try (Socket socket = server.accept()) {
+                        SectionWorker.serve(new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                                new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+                    }
+                    return null;
+                }
+            });
+
+            ForensicReportSection expected = new ForensicReportSection(FIELDS, null, null);
+            expected.addCaption(CAPTION);
+            ForensicReportSection served = null;
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort())) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                EvidenceRecord record = new EvidenceRecord();
+                String[] extendedValues = new String[EvidenceField.values().length];
+                for (int s=0; s<SHARDS; s++) {
+                    out.writeInt(SectionWorker.mask(FIELDS));
+                    EvidenceRecord.writeString(out, s == 0 ? CAPTION : null);
+                    for (int i=0; i<SHARD_FILES; i++) {
+                        int file = s * SHARD_FILES + i;
+                        record.objectId = file;
+                        record.fileName = "IMG_" + file + ".jpg";
+                        record.parentPath = "/img_0/dir" + file / 40 + "/";
+                        record.path = record.parentPath + record.fileName;
+                        record.md5hash = Integer.toHexString(file * 7919);
+                        record.comment = file % 3 == 0 ? "Recovered from the camera roll" : "";
+                        record.modifiedTime = 1500000000L + file;
+                        String groupCaption = file % 40 == 0 ? "Files in \"" + record.parentPath + "\"" : null;
+                        extendedValues[EvidenceField.CAMERA.ordinal()] = file % 2 == 0 ? "Camera " + file : null;
+
+                        // Only the relation id of a picture is sent, the image itself is already in the report
+                        EvidenceImages.Picture picture = null;
+                        ByteArrayOutputStream written = new ByteArrayOutputStream();
+                        if (file % 5 == 0) {
+                            new EvidenceImages.Picture("rId" + (100 + file), 0, 914400, 685800).writeTo(new DataOutputStream(written));
+                            picture = EvidenceImages.Picture.readFrom(new DataInputStream(new ByteArrayInputStream(written.toByteArray())));
+                        }
+
+                        out.writeBoolean(true);
+                        record.writeTo(out);
+                        EvidenceRecord.writeString(out, groupCaption);
+                        EvidenceRecord.writeString(out, extendedValues[EvidenceField.CAMERA.ordinal()]);
+                        out.writeBoolean(picture != null);
+                        written.writeTo(out);
+                        expected.buildTables(record, groupCaption, extendedValues, picture);
+                    }
+                    out.writeBoolean(false);
+                    out.flush();
+
+                    // Read back the body of the shard as the pool does
+                    byte[] body = new byte[in.readInt()];
+                    in.readFully(body);
+                    if (served == null) {
+                        served = new ForensicReportSection(FIELDS, null, null);
+                    }
+                    served.append(XmlObject.Factory.parse(new ByteArrayInputStream(body)));
+                }
+                out.writeInt(SectionWorker.END);
+                out.flush();
+                worker.get(30, TimeUnit.SECONDS);
+            }
+
+            XWPFDocument servedDocument = merge(served);
+            XWPFDocument expectedDocument = merge(expected);
+            assertEquals(SHARDS * SHARD_FILES, servedDocument.getTables().size());
+            assertTrue(servedDocument.getDocument().getBody().xmlText().contains("r:embed=\"rId100\""));
+            assertEquals(expectedDocument.getDocument().getBody().xmlText(), servedDocument.getDocument().getBody().xmlText());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static XWPFDocument merge(ForensicReportSection section) throws Exception {
+        XWPFDocument document = new XWPFDocument();
+        XmlCursor destination = document.getDocument().getBody().newCursor();
+        try {
+            destination.toEndToken();
+            section.mergeInto(destination);
+        } finally {
+            destination.dispose();
+        }
+
+        // Read the merged document back, so that its lists of paragraphs and tables are built
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        document.write(written);
+        return new XWPFDocument(new ByteArrayInputStream(written.toByteArray()));
+    }
+}